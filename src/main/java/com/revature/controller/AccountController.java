@@ -17,24 +17,40 @@ public class AccountController implements Controller{
         String id = ctx.pathParam("account_id");
         String clientId = ctx.pathParam("client_id");
 
-        ctx.json(accountService.getAccount(id, clientId));
-        ctx.status(200);
+        String etag = ConditionalGet.forAccount(ctx, clientId, id);
+        if(ConditionalGet.notModified(ctx, etag))
+            return;
+
+        AsyncResponse.json(ctx, etag, () -> accountService.getAccountAsync(id, clientId), Account::getVersion);
     };
 
     private Handler getAllAccountsForClient = ctx -> {
         String clientId = ctx.pathParam("client_id");
         String balanceUpperBound = ctx.queryParam("amountLessThan");
         String balanceLowerBound = ctx.queryParam("amountGreaterThan");
+        String after = ctx.queryParam("after");
+        String limit = ctx.queryParam("limit");
 
-        if(balanceLowerBound != null && balanceUpperBound != null)
-            ctx.json(accountService.getAccounts(clientId, balanceLowerBound, balanceUpperBound));
-        else if(balanceLowerBound != null)
-            ctx.json(accountService.getAccounts(clientId, balanceLowerBound, false));
-        else if(balanceUpperBound != null)
-            ctx.json(accountService.getAccounts(clientId, balanceUpperBound, true));
-        else
-            ctx.json(accountService.getAccounts(clientId));
-        ctx.status(200);
+        String etag = ConditionalGet.forClient(ctx, clientId);
+        if(ConditionalGet.notModified(ctx, etag))
+            return;
+
+        ResponseCache.serve(ctx, ResponseCache.clientScope(clientId), () -> {
+            if(after != null || limit != null) {
+                if(balanceLowerBound != null || balanceUpperBound != null)
+                    throw new IllegalArgumentException("Pagination cannot be combined with the amountLessThan or amountGreaterThan filters");
+                return accountService.getAccountsPage(clientId, after, limit);
+            }
+            else if(balanceLowerBound != null && balanceUpperBound != null)
+                return accountService.getAccounts(clientId, balanceLowerBound, balanceUpperBound);
+            else if(balanceLowerBound != null)
+                return accountService.getAccounts(clientId, balanceLowerBound, false);
+            else if(balanceUpperBound != null)
+                return accountService.getAccounts(clientId, balanceUpperBound, true);
+            else
+                return accountService.getAccounts(clientId);
+        });
+        ConditionalGet.tag(ctx, etag);
     };
 
     private Handler addAccount = ctx -> {
@@ -50,7 +66,7 @@ public class AccountController implements Controller{
         String id = ctx.pathParam("account_id");
         String clientId = ctx.pathParam("client_id");
         Account accountToUpdate = ctx.bodyAsClass(Account.class);
-        accountService.updateAccount(id, clientId, accountToUpdate);
+        accountService.updateAccount(id, clientId, accountToUpdate, ctx.header("If-Match"));
 
         ctx.status(200);
         ctx.json("Update Successful");
@@ -69,7 +85,7 @@ public class AccountController implements Controller{
     public void mapEndpoints(Javalin app) {
         app.get("/clients/{client_id}/accounts/{account_id}", getAccountById);
         app.get("/clients/{client_id}/accounts", getAllAccountsForClient);
-        app.post("/clients/{client_id}/accounts", addAccount);
+        app.post("/clients/{client_id}/accounts", Idempotency.wrap(addAccount));
         app.put("/clients/{client_id}/accounts/{account_id}", updateAccount);
         app.delete("/clients/{client_id}/accounts/{account_id}", deleteAccount);
     }
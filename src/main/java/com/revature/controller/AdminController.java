@@ -0,0 +1,51 @@
+package com.revature.controller;
+
+import com.revature.service.ImportService;
+import com.revature.service.StatsService;
+import io.javalin.Javalin;
+import io.javalin.http.Handler;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class AdminController implements Controller{
+
+    private ImportService importService;
+    private StatsService statsService;
+
+    public AdminController() {
+        importService = new ImportService();
+        statsService = new StatsService();
+    }
+
+    private Handler getStats = ctx -> {
+        Map<String, Object> stats = statsService.getStats();
+        stats.put("responseCache", ResponseCache.stats());
+        stats.put("idempotency", Idempotency.stats());
+
+        Map<String, Object> singleFlight = new LinkedHashMap<>();
+        singleFlight.put("responseCache", ResponseCache.singleFlightStats());
+        singleFlight.put("handlers", Coalesced.stats());
+        stats.put("singleFlight", singleFlight);
+
+        ctx.json(stats);
+        ctx.status(200);
+    };
+
+    private Handler importCsv = ctx -> {
+        String table = ctx.pathParam("table");
+        Reader csv = new InputStreamReader(ctx.bodyAsInputStream(), StandardCharsets.UTF_8);
+
+        ctx.json(importService.importCsv(table, csv));
+        ctx.status(200);
+    };
+
+    @Override
+    public void mapEndpoints(Javalin app) {
+        app.get("/admin/stats", getStats);
+        app.post("/admin/import/{table}", importCsv);
+    }
+}
@@ -0,0 +1,61 @@
+package com.revature.controller;
+
+import com.revature.utility.UnitOfWork;
+import io.javalin.http.Context;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
+
+// Hands a database future to Javalin so the request thread is released while the query runs. The request's unit
+// of work is closed first: the query auto-commits on the database executor, and Javalin may finish the request on
+// another thread, where the after handler would never find this thread's unit of work.
+class AsyncResponse {
+
+    private AsyncResponse() {
+    }
+
+    static void json(Context ctx, String etag, Supplier<? extends CompletableFuture<?>> call) throws SQLException {
+        respond(ctx, () -> Coalesced.getAsync(ctx, etag, call), value -> etag);
+    }
+
+    // rowVersion reads the version of the row in the body, which is added to the tag sent with it
+    @SuppressWarnings("unchecked")
+    static <T> void json(Context ctx, String etag, Supplier<? extends CompletableFuture<T>> call, ToIntFunction<T> rowVersion) throws SQLException {
+        respond(ctx, () -> Coalesced.getAsync(ctx, etag, call), value -> ConditionalGet.withRowVersion(etag, rowVersion.applyAsInt((T) value)));
+    }
+
+    // For bodies that can come back partial when a deadline passes. Each request waits on its own call rather than
+    // sharing another's degraded answer, and only a complete body is tagged, so it is never revalidated as current.
+    @SuppressWarnings("unchecked")
+    static <T> void partial(Context ctx, String etag, Supplier<? extends CompletableFuture<T>> call, Predicate<T> complete) throws SQLException {
+        respond(ctx, () -> call.get().thenApply(value -> (Object) value), value -> complete.test((T) value) ? etag : null);
+    }
+
+    private static void respond(Context ctx, Supplier<CompletableFuture<Object>> start, Function<Object, String> tagFor) throws SQLException {
+        UnitOfWork.end(true);
+        CompletableFuture<Object> future = start.get();
+
+        // The exception handlers are registered for the DAO and service exceptions, not the CompletionException
+        // that chained stages wrap them in
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        future.whenComplete((value, e) -> {
+            if (e == null)
+                result.complete(value);
+            else if (e instanceof CompletionException && e.getCause() != null)
+                result.completeExceptionally(e.getCause());
+            else
+                result.completeExceptionally(e);
+        });
+
+        ctx.future(result, value -> {
+            ctx.json(value);
+            ctx.status(200);
+            ConditionalGet.tag(ctx, tagFor.apply(value));
+        });
+    }
+}
@@ -1,27 +1,57 @@
 package com.revature.controller;
 
 import com.revature.model.Client;
+import com.revature.model.ClientOverview;
 import com.revature.service.ClientService;
+import com.revature.service.OverviewService;
 import io.javalin.Javalin;
 import io.javalin.http.Handler;
 
 public class ClientController implements Controller{
 
     private ClientService clientService;
+    private OverviewService overviewService;
 
     public ClientController() {
         clientService = new ClientService();
+        overviewService = new OverviewService();
     }
 
     private Handler getAllClients = ctx -> {
-        ctx.json(clientService.getClients());
-        ctx.status(200);
+        String after = ctx.queryParam("after");
+        String limit = ctx.queryParam("limit");
+
+        String etag = ConditionalGet.forClientList(ctx);
+        if(ConditionalGet.notModified(ctx, etag))
+            return;
+
+        ResponseCache.serve(ctx, ResponseCache.ALL_CLIENTS, () -> {
+            if(after != null || limit != null)
+                return clientService.getClients(after, limit);
+            return clientService.getClients();
+        });
+        ConditionalGet.tag(ctx, etag);
     };
 
     private Handler getClientById = ctx -> {
         String id = ctx.pathParam("client_id");
-        ctx.json(clientService.getClient(id));
-        ctx.status(200);
+
+        String etag = ConditionalGet.forClient(ctx, id);
+        if(ConditionalGet.notModified(ctx, etag))
+            return;
+
+        AsyncResponse.json(ctx, etag, () -> clientService.getClientAsync(id));
+    };
+
+    private Handler getClientOverview = ctx -> {
+        String id = ctx.pathParam("client_id");
+        String recent = ctx.queryParam("transactions");
+
+        String etag = ConditionalGet.forClient(ctx, id);
+        if(ConditionalGet.notModified(ctx, etag))
+            return;
+
+        AsyncResponse.partial(ctx, etag, () -> overviewService.getOverview(id, recent), ClientOverview::isComplete);
     };
 
     private Handler addClient = ctx -> {
@@ -51,7 +81,8 @@ public class ClientController implements Controller{
     public void mapEndpoints(Javalin app) {
         app.get("/clients", getAllClients);
         app.get("/clients/{client_id}", getClientById);
-        app.post("/clients", addClient);
+        app.get("/clients/{client_id}/overview", getClientOverview);
+        app.post("/clients", Idempotency.wrap(addClient));
         app.put("/clients/{client_id}", updateClient);
         app.delete("/clients/{client_id}", deleteClient);
     }
@@ -0,0 +1,43 @@
+package com.revature.controller;
+
+import com.revature.utility.SingleFlight;
+import io.javalin.http.Context;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+// Identical GETs that overlap share one service call. The key is the request's ETag plus its path and query; the
+// ETag carries the resource version, so a request arriving after a write never joins a call started before it.
+// Requests without a tag (ids that do not parse) are not shared and fail on their own.
+class Coalesced {
+
+    private static final SingleFlight<String, Object> calls = new SingleFlight<>();
+
+    private Coalesced() {
+    }
+
+    static Object get(Context ctx, String etag, ResponseCache.ResponseSupplier supplier) throws Exception {
+        if (etag == null) {
+            return supplier.get();
+        }
+
+        return calls.execute(key(ctx, etag), supplier::get);
+    }
+
+    static CompletableFuture<Object> getAsync(Context ctx, String etag, Supplier<? extends CompletableFuture<?>> supplier) {
+        if (etag == null) {
+            return supplier.get().thenApply(value -> (Object) value);
+        }
+
+        return calls.executeAsync(key(ctx, etag), () -> supplier.get().thenApply(value -> (Object) value));
+    }
+
+    static Map<String, Object> stats() {
+        return calls.stats();
+    }
+
+    private static String key(Context ctx, String etag) {
+        return ctx.queryString() == null ? etag + " " + ctx.path() : etag + " " + ctx.path() + "?" + ctx.queryString();
+    }
+}
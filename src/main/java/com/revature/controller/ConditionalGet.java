@@ -0,0 +1,77 @@
+package com.revature.controller;
+
+import com.revature.service.ResourceVersions;
+import io.javalin.http.Context;
+
+// Strong ETags for GET handlers, built from ResourceVersions plus a hash of the path and query string so each
+// representation of a resource gets its own tag. Handlers check notModified() before doing any work and only
+// send the tag with a successful response. Single accounts and transactions prefix the tag with the row version,
+// e.g. "4/...", so the tag a client read can be sent back as If-Match on an update.
+class ConditionalGet {
+
+    private ConditionalGet() {
+    }
+
+    static String forClientList(Context ctx) {
+        return etag(ctx, ResourceVersions.clientList());
+    }
+
+    // Invalid ids get no tag and are left for the service to reject
+    static String forClient(Context ctx, String clientIdString) {
+        try {
+            return etag(ctx, ResourceVersions.client(Integer.parseInt(clientIdString)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static String forAccount(Context ctx, String clientIdString, String accountIdString) {
+        try {
+            return etag(ctx, ResourceVersions.account(Integer.parseInt(clientIdString), Integer.parseInt(accountIdString)));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    static boolean notModified(Context ctx, String etag) {
+        String ifNoneMatch = ctx.header("If-None-Match");
+        if (etag == null || ifNoneMatch == null) {
+            return false;
+        }
+
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.startsWith("W/"))
+                candidate = candidate.substring(2);
+
+            // A row version prefix was fixed by the body sent with the tag, so only the rest has to match
+            if (candidate.equals(etag) || withoutRowVersion(candidate).equals(etag)) {
+                ctx.status(304);
+                ctx.header("ETag", candidate);
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    static void tag(Context ctx, String etag) {
+        if (etag != null) {
+            ctx.header("ETag", etag);
+        }
+    }
+
+    static String withRowVersion(String etag, int rowVersion) {
+        return etag == null ? null : "\"" + rowVersion + "/" + etag.substring(1);
+    }
+
+    private static String withoutRowVersion(String candidate) {
+        int slash = candidate.indexOf('/');
+        return slash < 0 ? candidate : "\"" + candidate.substring(slash + 1);
+    }
+
+    private static String etag(Context ctx, String version) {
+        String target = ctx.queryString() == null ? ctx.path() : ctx.path() + "?" + ctx.queryString();
+        return "\"" + version + "-" + Integer.toHexString(target.hashCode()) + "\"";
+    }
+}
@@ -2,12 +2,16 @@ package com.revature.controller;
 
 import com.revature.exception.ClientNotFoundException;
 import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.exception.PreconditionFailedException;
 import com.revature.exception.TransactionNotFoundException;
 import io.javalin.Javalin;
 import io.javalin.http.ExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeoutException;
+
 public class ExceptionController implements Controller{
 
     private Logger logger = LoggerFactory.getLogger(ExceptionController.class);
@@ -18,17 +22,39 @@ public class ExceptionController implements Controller{
         ctx.json(exception.getMessage());
     };
 
+    // Scrapers probing random ids make these routine, so they are only logged at debug level
     private ExceptionHandler resourceNotFound = (exception, ctx) -> {
-        logger.warn("User attempted to retrieve a resource that was not found. Exception message: " + exception.getMessage());
+        logger.debug("User attempted to retrieve a resource that was not found. Exception message: " + exception.getMessage());
         ctx.status(404);
         ctx.json(exception.getMessage());
     };
 
+    private ExceptionHandler preconditionFailed = (exception, ctx) -> {
+        logger.info("Conditional update rejected. Exception message: " + exception.getMessage());
+        ctx.status(412);
+        ctx.json(exception.getMessage());
+    };
+
+    private ExceptionHandler insufficientFunds = (exception, ctx) -> {
+        logger.info("Transaction rejected to avoid an overdraft. Exception message: " + exception.getMessage());
+        ctx.status(409);
+        ctx.json(exception.getMessage());
+    };
+
+    private ExceptionHandler deadlineExceeded = (exception, ctx) -> {
+        logger.warn("Request did not complete within its deadline. Exception message: " + exception.getMessage());
+        ctx.status(504);
+        ctx.json("The request did not complete in time");
+    };
+
     @Override
     public void mapEndpoints(Javalin app) {
         app.exception(IllegalArgumentException.class, illegalArgument);
         app.exception(ClientNotFoundException.class, resourceNotFound);
         app.exception(AccountNotFoundException.class, resourceNotFound);
         app.exception(TransactionNotFoundException.class, resourceNotFound);
+        app.exception(PreconditionFailedException.class, preconditionFailed);
+        app.exception(InsufficientFundsException.class, insufficientFunds);
+        app.exception(TimeoutException.class, deadlineExceeded);
     }
 }
@@ -0,0 +1,142 @@
+package com.revature.controller;
+
+import com.revature.dao.IdempotencyDao;
+import com.revature.model.IdempotentResponse;
+import com.revature.utility.LruCache;
+import com.revature.utility.Settings;
+import com.revature.utility.UnitOfWork;
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// POSTs sent with an Idempotency-Key header run once per key. The successful response is recorded in the
+// idempotency_keys table inside the request's own transaction, so it is durable exactly when the insert it
+// describes is, and is kept in a bounded in-memory cache after the commit. A retry is answered from memory, or
+// from the table on another node or after a restart, without running validation or the insert again.
+// Keys are scoped to the method and path; responses other than 2xx are not kept, and their claim is released.
+public class Idempotency {
+
+    public static final String HEADER = "Idempotency-Key";
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private static Logger logger = LoggerFactory.getLogger(Idempotency.class);
+
+    private static final Idempotency shared = new Idempotency(new IdempotencyDao(),
+            Settings.getInt("idempotency_key_ttl_ms", 24 * 60 * 60 * 1000),
+            Settings.getInt("idempotency_cache_max_size", 10000));
+
+    private final IdempotencyDao idempotencyDao;
+    private final long ttlMillis;
+    private final LruCache<String, IdempotentResponse> responses;
+    private final LongAdder replayedFromDatabase = new LongAdder();
+
+    Idempotency(IdempotencyDao idempotencyDao, long ttlMillis, int cacheSize) {
+        this.idempotencyDao = idempotencyDao;
+        this.ttlMillis = ttlMillis;
+        this.responses = new LruCache<>(cacheSize, ttlMillis);
+    }
+
+    public static Handler wrap(Handler handler) {
+        return shared.guard(handler);
+    }
+
+    Handler guard(Handler handler) {
+        return ctx -> {
+            String key = ctx.header(HEADER);
+            if(key == null) {
+                handler.handle(ctx);
+                return;
+            }
+
+            if(key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+                throw new IllegalArgumentException(HEADER + " must be between 1 and " + MAX_KEY_LENGTH + " characters");
+            }
+
+            String scope = ctx.method() + " " + ctx.path() + " " + key;
+            IdempotentResponse stored = responses.get(scope);
+            if(stored == null) {
+                stored = idempotencyDao.claim(scope, ttlMillis);
+                if(stored != null) {
+                    replayedFromDatabase.increment();
+                    responses.put(scope, stored);
+                }
+            }
+
+            if(stored != null) {
+                replay(ctx, stored);
+                return;
+            }
+
+            handler.handle(ctx);
+            if(ctx.status() < 200 || ctx.status() >= 300) {
+                idempotencyDao.release(scope);
+                return;
+            }
+
+            IdempotentResponse response = new IdempotentResponse(ctx.status(), ctx.res.getContentType(), readResult(ctx));
+            idempotencyDao.complete(scope, response);
+            UnitOfWork.afterCommit(() -> responses.put(scope, response));
+        };
+    }
+
+    public static void startPurging() {
+        long interval = Settings.getInt("idempotency_purge_interval_ms", 600000);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "idempotency-key-purge");
+            t.setDaemon(true);
+            return t;
+        });
+
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                int purged = shared.idempotencyDao.purgeExpired(shared.ttlMillis);
+                if(purged > 0)
+                    logger.info("Purged " + purged + " expired idempotency keys");
+            } catch (SQLException | RuntimeException e) {
+                logger.error("Failed to purge expired idempotency keys", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    public static Map<String, Object> stats() {
+        return shared.statistics();
+    }
+
+    Map<String, Object> statistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cache", responses.stats());
+        stats.put("replayedFromDatabase", replayedFromDatabase.sum());
+        return stats;
+    }
+
+    private static void replay(Context ctx, IdempotentResponse stored) {
+        ctx.status(stored.getStatus());
+        if(stored.getContentType() != null)
+            ctx.contentType(stored.getContentType());
+        ctx.header("Idempotent-Replayed", "true");
+        ctx.result(stored.getBody() == null ? new byte[0] : stored.getBody());
+    }
+
+    // Reading the result stream consumes it, so the bytes are put back as the result before returning them
+    private static byte[] readResult(Context ctx) throws Exception {
+        InputStream result = ctx.resultStream();
+        if(result == null) {
+            return new byte[0];
+        }
+
+        byte[] body = result.readAllBytes();
+        ctx.result(body);
+        return body;
+    }
+}
@@ -0,0 +1,149 @@
+package com.revature.controller;
+
+import com.revature.model.CacheStats;
+import com.revature.model.ChangeEvent;
+import com.revature.utility.Json;
+import com.revature.utility.Settings;
+import com.revature.utility.SingleFlight;
+import io.javalin.http.Context;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Already-encoded JSON for hot list endpoints, keyed by path and query string and bounded by total bytes.
+// Each entry belongs to a client (0 for the client list itself) and is dropped on any change event for that
+// client. A response computed while an invalidation happened is served but not stored, since it may predate it.
+public class ResponseCache {
+
+    public interface ResponseSupplier {
+        Object get() throws Exception;
+    }
+
+    public static final int ALL_CLIENTS = 0;
+
+    private static final long maxBytes = Settings.getInt("response_cache_max_bytes", 32 * 1024 * 1024);
+    private static final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private static final AtomicLong generation = new AtomicLong();
+    private static final SingleFlight<String, byte[]> encodes = new SingleFlight<>();
+    private static long totalBytes;
+
+    private static final LongAdder hits = new LongAdder();
+    private static final LongAdder misses = new LongAdder();
+    private static final LongAdder evictions = new LongAdder();
+
+    private ResponseCache() {
+    }
+
+    public static void serve(Context ctx, int clientId, ResponseSupplier supplier) throws Exception {
+        String key = ctx.queryString() == null ? ctx.path() : ctx.path() + "?" + ctx.queryString();
+
+        byte[] body = get(key);
+        if (body == null) {
+            // Concurrent misses share one encode; the generation in the key keeps a request that arrives after an
+            // invalidation from joining a call that started before it
+            long startGeneration = generation.get();
+            body = encodes.execute(startGeneration + " " + key, () -> {
+                byte[] encoded = Json.mapper().writeValueAsBytes(supplier.get());
+                put(key, clientId, encoded, startGeneration);
+                return encoded;
+            });
+        }
+
+        ctx.status(200);
+        ctx.contentType("application/json");
+        ctx.result(body);
+    }
+
+    // Path parameters that are not ids are left for the service to reject with its usual message
+    public static int clientScope(String clientIdString) {
+        try {
+            return Integer.parseInt(clientIdString);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public static void onChange(ChangeEvent event) {
+        generation.incrementAndGet();
+
+        synchronized (entries) {
+            if (event.getEntity() == ChangeEvent.Entity.ALL) {
+                entries.clear();
+                totalBytes = 0;
+                return;
+            }
+
+            int clientId = event.getClientId();
+            boolean clientListChanged = event.getEntity() == ChangeEvent.Entity.CLIENT;
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                if (entry.clientId == clientId || (clientListChanged && entry.clientId == ALL_CLIENTS)) {
+                    totalBytes -= entry.body.length;
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    public static Map<String, Object> singleFlightStats() {
+        return encodes.stats();
+    }
+
+    public static CacheStats stats() {
+        synchronized (entries) {
+            return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), entries.size());
+        }
+    }
+
+    private static byte[] get(String key) {
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+
+            hits.increment();
+            return entry.body;
+        }
+    }
+
+    private static void put(String key, int clientId, byte[] body, long startGeneration) {
+        if (clientId < 0 || body.length > maxBytes / 8) {
+            return;
+        }
+
+        synchronized (entries) {
+            if (generation.get() != startGeneration) {
+                return;
+            }
+
+            Entry previous = entries.put(key, new Entry(clientId, body));
+            if (previous != null) {
+                totalBytes -= previous.body.length;
+            }
+            totalBytes += body.length;
+
+            Iterator<Entry> it = entries.values().iterator();
+            while (totalBytes > maxBytes && it.hasNext()) {
+                totalBytes -= it.next().body.length;
+                it.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    private static class Entry {
+        private final int clientId;
+        private final byte[] body;
+
+        private Entry(int clientId, byte[] body) {
+            this.clientId = clientId;
+            this.body = body;
+        }
+    }
+}
@@ -1,12 +1,26 @@
 package com.revature.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
 import com.revature.model.Transaction;
 import com.revature.service.TransactionService;
+import com.revature.utility.Json;
 import io.javalin.Javalin;
+import io.javalin.http.Context;
 import io.javalin.http.Handler;
+import org.eclipse.jetty.server.Request;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.List;
 
 public class TransactionController implements Controller{
 
+    private static Logger logger = LoggerFactory.getLogger(TransactionController.class);
+
     private TransactionService transactionService;
 
     public TransactionController() {
@@ -18,22 +32,92 @@ public class TransactionController implements Controller{
         String clientId = ctx.pathParam("client_id");
         String accountId = ctx.pathParam("account_id");
 
-        ctx.json(transactionService.getTransaction(id, clientId, accountId));
-        ctx.status(200);
+        String etag = ConditionalGet.forAccount(ctx, clientId, accountId);
+        if(ConditionalGet.notModified(ctx, etag))
+            return;
+
+        AsyncResponse.json(ctx, etag, () -> transactionService.getTransactionAsync(id, clientId, accountId), Transaction::getVersion);
     };
 
     private Handler getAllTransactionsForAccount = ctx -> {
         String clientId = ctx.pathParam("client_id");
         String accountId = ctx.pathParam("account_id");
         String descriptionContains = ctx.queryParam("descriptionContains");
+        String after = ctx.queryParam("after");
+        String limit = ctx.queryParam("limit");
+
+        String etag = ConditionalGet.forAccount(ctx, clientId, accountId);
+        if(ConditionalGet.notModified(ctx, etag))
+            return;
 
-        if(descriptionContains == null)
-            ctx.json(transactionService.getTransactions(clientId, accountId));
-        else
-            ctx.json(transactionService.getTransactions(clientId, accountId, descriptionContains));
+        if("true".equals(ctx.queryParam("stream"))) {
+            if(descriptionContains != null || after != null || limit != null)
+                throw new IllegalArgumentException("Streaming cannot be combined with pagination or the descriptionContains filter");
+            streamTransactions(ctx, clientId, accountId, etag);
+            return;
+        }
+
+        ctx.json(Coalesced.get(ctx, etag, () -> {
+            if(after != null || limit != null) {
+                if(descriptionContains != null)
+                    throw new IllegalArgumentException("Pagination cannot be combined with the descriptionContains filter");
+                return transactionService.getTransactionsPage(clientId, accountId, after, limit);
+            }
+            else if(descriptionContains == null)
+                return transactionService.getTransactions(clientId, accountId);
+            else
+                return transactionService.getTransactions(clientId, accountId, descriptionContains);
+        }));
         ctx.status(200);
+        ConditionalGet.tag(ctx, etag);
     };
 
+    // Rows are written to the response as the cursor produces them. The opening bracket is deferred until the
+    // first row so a missing client or account can still be answered with a 404 by the exception handlers.
+    // A failure after that must not end the array, or the client would take a partial history for a whole one.
+    private void streamTransactions(Context ctx, String clientId, String accountId, String etag) throws Exception {
+        OutputStream out = ctx.res.getOutputStream();
+        JsonGenerator generator = Json.mapper().getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        boolean[] started = {false};
+        try {
+            transactionService.streamTransactions(clientId, accountId, transaction -> {
+                if(!started[0]) {
+                    ctx.status(200);
+                    ctx.contentType("application/json");
+                    ConditionalGet.tag(ctx, etag);
+                    generator.writeStartArray();
+                    started[0] = true;
+                }
+                generator.writeObject(transaction);
+            });
+        } catch (Exception e) {
+            if(!started[0])
+                throw e;
+            // The generator is dropped without being closed, since closing it would write the closing bracket.
+            // While nothing has reached the client the response is reset and the error answered normally; once
+            // the status line has gone out the connection is aborted, leaving the client an incomplete chunked body.
+            if(!ctx.res.isCommitted()) {
+                ctx.res.reset();
+                throw e;
+            }
+            logger.error("Streaming transactions for " + ctx.path() + " failed after the response was committed", e);
+            Request.getBaseRequest(ctx.req).getHttpChannel().abort(e);
+            return;
+        }
+
+        if(!started[0]) {
+            ctx.status(200);
+            ctx.contentType("application/json");
+            ConditionalGet.tag(ctx, etag);
+            generator.writeStartArray();
+        }
+        generator.writeEndArray();
+        generator.close();
+        out.flush();
+    }
+
     private Handler addTransaction = ctx -> {
         String clientId = ctx.pathParam("client_id");
         String accountId = ctx.pathParam("account_id");
@@ -44,12 +128,44 @@ public class TransactionController implements Controller{
         ctx.json(addedTransaction);
     };
 
+    // Accepts either a JSON array or newline-delimited JSON; Jackson unwraps a root-level array when reading a sequence
+    private Handler addTransactions = ctx -> {
+        String clientId = ctx.pathParam("client_id");
+        String accountId = ctx.pathParam("account_id");
+
+        MappingIterator<Transaction> iterator = Json.mapper().readerFor(Transaction.class).readValues(ctx.bodyAsInputStream());
+        Iterator<Transaction> transactions = new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    return iterator.hasNextValue();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Request body must be a JSON array or newline-delimited JSON of transactions. " + e.getMessage());
+                }
+            }
+
+            @Override
+            public Transaction next() {
+                try {
+                    return iterator.nextValue();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Request body must be a JSON array or newline-delimited JSON of transactions. " + e.getMessage());
+                }
+            }
+        };
+
+        List<Integer> ids = transactionService.addTransactions(clientId, accountId, transactions);
+
+        ctx.status(201);
+        ctx.json(ids);
+    };
+
     private Handler updateTransaction = ctx -> {
         String id = ctx.pathParam("transaction_id");
         String clientId = ctx.pathParam("client_id");
         String accountId = ctx.pathParam("account_id");
         Transaction transactionToUpdate = ctx.bodyAsClass(Transaction.class);
-        transactionService.updateTransaction(id, clientId, accountId, transactionToUpdate);
+        transactionService.updateTransaction(id, clientId, accountId, transactionToUpdate, ctx.header("If-Match"));
 
         ctx.status(200);
         ctx.json("Update Successful");
@@ -69,7 +185,8 @@ public class TransactionController implements Controller{
     public void mapEndpoints(Javalin app) {
         app.get("/clients/{client_id}/accounts/{account_id}/transactions/{transaction_id}", getTransactionById);
         app.get("/clients/{client_id}/accounts/{account_id}/transactions", getAllTransactionsForAccount);
-        app.post("/clients/{client_id}/accounts/{account_id}/transactions", addTransaction);
+        app.post("/clients/{client_id}/accounts/{account_id}/transactions", Idempotency.wrap(addTransaction));
+        app.post("/clients/{client_id}/accounts/{account_id}/transactions/bulk", Idempotency.wrap(addTransactions));
         app.put("/clients/{client_id}/accounts/{account_id}/transactions/{transaction_id}", updateTransaction);
         app.delete("/clients/{client_id}/accounts/{account_id}/transactions/{transaction_id}", deleteTransaction);
     }
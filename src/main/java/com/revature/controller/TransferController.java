@@ -0,0 +1,29 @@
+package com.revature.controller;
+
+import com.revature.model.Transfer;
+import com.revature.service.TransferService;
+import io.javalin.Javalin;
+import io.javalin.http.Handler;
+
+public class TransferController implements Controller{
+
+    private TransferService transferService;
+
+    public TransferController() {
+        transferService = new TransferService();
+    }
+
+    private Handler addTransfer = ctx -> {
+        String clientId = ctx.pathParam("client_id");
+        Transfer transferToAdd = ctx.bodyAsClass(Transfer.class);
+        Transfer completedTransfer = transferService.addTransfer(clientId, transferToAdd);
+
+        ctx.status(201);
+        ctx.json(completedTransfer);
+    };
+
+    @Override
+    public void mapEndpoints(Javalin app) {
+        app.post("/clients/{client_id}/transfers", Idempotency.wrap(addTransfer));
+    }
+}
@@ -1,101 +1,148 @@
 package com.revature.dao;
 
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.PreconditionFailedException;
 import com.revature.model.Account;
 import com.revature.utility.ConnectionUtility;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class AccountDao {
 
-    public Account getAccount(int id, int clientId) throws SQLException {
+    public Account getAccount(int id, int clientId) throws SQLException, ClientNotFoundException {
         try (Connection con = ConnectionUtility.getConnection()) {
-            String sql = "SELECT * FROM accounts WHERE id = ? AND client_id = ?";
+            String sql = "SELECT c.id AS owner_id, a.id, a.balance, a.account_type, a.version FROM clients c " +
+                    "LEFT JOIN accounts a ON a.id = ? AND a.client_id = c.id " +
+                    "WHERE c.id = ?";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
             pstmt.setInt(1, id);
             pstmt.setInt(2, clientId);
 
             ResultSet rs = pstmt.executeQuery();
-            if(rs.next()) {
+            if(!rs.next()) {
+                throw new ClientNotFoundException("Client with id " + clientId + " was not found");
+            }
+
+            rs.getInt("id");
+            if(!rs.wasNull()) {
                 int balance = rs.getInt("balance");
                 String type = rs.getString("account_type");
-                return new Account(id, clientId, balance, type);
+                int version = rs.getInt("version");
+                return new Account(id, clientId, balance, type, version);
             }
         }
 
         return null;
     }
 
-    public List<Account> getAccounts(int clientId) throws SQLException {
-        List<Account> accounts = new ArrayList<>();
+    public void checkOwnership(int id, int clientId) throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        if(AccountOwnershipIndex.isOwner(id, clientId)) {
+            return;
+        }
 
-        try(Connection con = ConnectionUtility.getConnection()) {
-            String sql = "SELECT * FROM accounts where client_id = ?";
+        try (Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT c.id AS owner_id, a.id FROM clients c " +
+                    "LEFT JOIN accounts a ON a.id = ? AND a.client_id = c.id " +
+                    "WHERE c.id = ?";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
-            pstmt.setInt(1, clientId);
+            pstmt.setInt(1, id);
+            pstmt.setInt(2, clientId);
+
+            ResultSet rs = pstmt.executeQuery();
+            if(!rs.next()) {
+                throw new ClientNotFoundException("Client with id " + clientId + " was not found");
+            }
+
+            rs.getInt("id");
+            if(rs.wasNull()) {
+                throw new AccountNotFoundException("Account with id " + id + " was not found for client with id " + clientId);
+            }
+        }
+    }
+
+    // Account id to owning client id for a batch of accounts; ids with no row are absent from the map
+    public Map<Integer, Integer> getOwners(List<Integer> ids) throws SQLException {
+        Map<Integer, Integer> owners = new HashMap<>();
+
+        try (Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT id, client_id FROM accounts WHERE id = ANY(?)";
+
+            PreparedStatement pstmt = con.prepareStatement(sql);
+            pstmt.setArray(1, con.createArrayOf("integer", ids.toArray()));
 
             ResultSet rs = pstmt.executeQuery();
             while(rs.next()) {
-                int id = rs.getInt("id");
-                int balance = rs.getInt("balance");
-                String type = rs.getString("account_type");
-                accounts.add(new Account(id, clientId, balance, type));
+                owners.put(rs.getInt("id"), rs.getInt("client_id"));
             }
         }
 
-        return accounts;
+        return owners;
     }
 
-    public List<Account> getAccounts(int clientId, int balanceBound, boolean upperBound) throws SQLException {
-        List<Account> accounts = new ArrayList<>();
+    public List<Account> getAccounts(int clientId) throws SQLException, ClientNotFoundException {
+        try(Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT a.* FROM clients c " +
+                    "LEFT JOIN accounts a ON a.client_id = c.id " +
+                    "WHERE c.id = ?";
 
+            PreparedStatement pstmt = con.prepareStatement(sql);
+            pstmt.setInt(1, clientId);
+
+            return readAccounts(pstmt.executeQuery(), clientId);
+        }
+    }
+
+    public List<Account> getAccounts(int clientId, int balanceBound, boolean upperBound) throws SQLException, ClientNotFoundException {
         try(Connection con = ConnectionUtility.getConnection()) {
             String sql;
             if(upperBound)
-                sql = "SELECT * FROM accounts where client_id = ? AND balance < ?";
+                sql = "SELECT a.* FROM clients c LEFT JOIN accounts a ON a.client_id = c.id AND a.balance < ? WHERE c.id = ?";
             else
-                sql = "SELECT * FROM accounts where client_id = ? AND balance > ?";
+                sql = "SELECT a.* FROM clients c LEFT JOIN accounts a ON a.client_id = c.id AND a.balance > ? WHERE c.id = ?";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
-            pstmt.setInt(1, clientId);
-            pstmt.setInt(2, balanceBound);
+            pstmt.setInt(1, balanceBound);
+            pstmt.setInt(2, clientId);
 
-            ResultSet rs = pstmt.executeQuery();
-            while(rs.next()) {
-                int id = rs.getInt("id");
-                int balance = rs.getInt("balance");
-                String type = rs.getString("account_type");
-                accounts.add(new Account(id, clientId, balance, type));
-            }
+            return readAccounts(pstmt.executeQuery(), clientId);
         }
-
-        return accounts;
     }
 
-    public List<Account> getAccounts(int clientId, int balanceLowerBound, int balanceUpperBound) throws SQLException {
-        List<Account> accounts = new ArrayList<>();
-
+    public List<Account> getAccounts(int clientId, int balanceLowerBound, int balanceUpperBound) throws SQLException, ClientNotFoundException {
         try(Connection con = ConnectionUtility.getConnection()) {
-            String sql = "SELECT * FROM accounts where client_id = ? AND balance > ? AND balance < ?";
+            String sql = "SELECT a.* FROM clients c " +
+                    "LEFT JOIN accounts a ON a.client_id = c.id AND a.balance > ? AND a.balance < ? " +
+                    "WHERE c.id = ?";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
-            pstmt.setInt(1, clientId);
-            pstmt.setInt(2, balanceLowerBound);
-            pstmt.setInt(3, balanceUpperBound);
+            pstmt.setInt(1, balanceLowerBound);
+            pstmt.setInt(2, balanceUpperBound);
+            pstmt.setInt(3, clientId);
 
-            ResultSet rs = pstmt.executeQuery();
-            while(rs.next()) {
-                int id = rs.getInt("id");
-                int balance = rs.getInt("balance");
-                String type = rs.getString("account_type");
-                accounts.add(new Account(id, clientId, balance, type));
-            }
+            return readAccounts(pstmt.executeQuery(), clientId);
         }
+    }
 
-        return accounts;
+    public List<Account> getAccountsAfter(int clientId, int afterId, int limit) throws SQLException, ClientNotFoundException {
+        try(Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT a.* FROM clients c " +
+                    "LEFT JOIN accounts a ON a.client_id = c.id AND a.id > ? " +
+                    "WHERE c.id = ? ORDER BY a.id LIMIT ?";
+
+            PreparedStatement pstmt = con.prepareStatement(sql);
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, clientId);
+            pstmt.setInt(3, limit);
+
+            return readAccounts(pstmt.executeQuery(), clientId);
+        }
     }
 
     public Account addAccount(Account account) throws SQLException {
@@ -112,6 +159,7 @@ public class AccountDao {
             ResultSet rs = pstmt.getGeneratedKeys();
             rs.next();
             int id = rs.getInt(1);
+            AccountOwnershipIndex.accountAdded(id, account.getClientId());
 
             return new Account(id, account.getClientId(), account.getBalance(), account.getType());
         }
@@ -125,30 +173,75 @@ public class AccountDao {
             pstmt.setInt(1, id);
             pstmt.setInt(2, clientId);
 
-            if(pstmt.executeUpdate() == 1)
+            if(pstmt.executeUpdate() == 1) {
+                AccountOwnershipIndex.accountRemoved(id);
                 return true;
+            }
         }
 
         return false;
     }
 
-    public boolean updateAccount(Account account) throws SQLException {
+    // A null expectedVersion updates unconditionally. Otherwise the row is only updated at that version, and a
+    // row that exists at another version is a conflict rather than a missing account.
+    public boolean updateAccount(Account account, Integer expectedVersion) throws SQLException, PreconditionFailedException {
         try (Connection con = ConnectionUtility.getConnection()) {
             String sql = "UPDATE accounts " +
                     "SET balance = ?, " +
-                    "account_type = ? " +
+                    "account_type = ?, " +
+                    "version = version + 1 " +
                     "WHERE id = ? AND client_id = ?";
+            if(expectedVersion != null)
+                sql += " AND version = ?";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
             pstmt.setInt(1, account.getBalance());
             pstmt.setString(2, account.getType());
             pstmt.setInt(3, account.getId());
             pstmt.setInt(4, account.getClientId());
+            if(expectedVersion != null)
+                pstmt.setInt(5, expectedVersion);
 
             if(pstmt.executeUpdate() == 1)
                 return true;
+
+            if(expectedVersion != null) {
+                PreparedStatement check = con.prepareStatement("SELECT version FROM accounts WHERE id = ? AND client_id = ?");
+                check.setInt(1, account.getId());
+                check.setInt(2, account.getClientId());
+
+                ResultSet rs = check.executeQuery();
+                if(rs.next()) {
+                    throw new PreconditionFailedException("Account with id " + account.getId() + " is at version " + rs.getInt("version") + ", not " + expectedVersion);
+                }
+            }
         }
 
         return false;
     }
+
+    // Reads the rows of a clients LEFT JOIN accounts query. No rows means the client is missing,
+    // while a single row with a null account id means the client exists but has no matching accounts.
+    private List<Account> readAccounts(ResultSet rs, int clientId) throws SQLException, ClientNotFoundException {
+        List<Account> accounts = new ArrayList<>();
+        boolean clientFound = false;
+
+        while(rs.next()) {
+            clientFound = true;
+            int id = rs.getInt("id");
+            if(rs.wasNull())
+                continue;
+
+            int balance = rs.getInt("balance");
+            String type = rs.getString("account_type");
+            int version = rs.getInt("version");
+            accounts.add(new Account(id, clientId, balance, type, version));
+        }
+
+        if(!clientFound) {
+            throw new ClientNotFoundException("Client with id " + clientId + " was not found");
+        }
+
+        return accounts;
+    }
 }
@@ -0,0 +1,137 @@
+package com.revature.dao;
+
+import com.revature.model.ChangeEvent;
+import com.revature.utility.ConnectionUtility;
+import com.revature.utility.IntIntMap;
+import com.revature.utility.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// In-memory account id to client id map used to answer ownership checks without a query. Only positive answers
+// are trusted: an account missing from the index (added by a bulk import, or before load() finished) falls back
+// to the database.
+public class AccountOwnershipIndex {
+
+    private static Logger logger = LoggerFactory.getLogger(AccountOwnershipIndex.class);
+
+    private static final int LOAD_FETCH_SIZE = 10000;
+
+    // Fills a fresh map with every account's owner
+    interface Loader {
+        void loadInto(IntIntMap map) throws SQLException;
+    }
+
+    private static volatile IntIntMap owners = new IntIntMap();
+
+    // Guards changes to owners against a reload swapping it out. Changes made while a reload is reading the table
+    // are kept here and replayed onto the new map before it replaces the old one, since the rows it read may
+    // predate them.
+    private static final Object lock = new Object();
+    private static List<Consumer<IntIntMap>> changesDuringLoad;
+
+    private AccountOwnershipIndex() {
+    }
+
+    public static int load() throws SQLException {
+        return load(map -> {
+            try (Connection con = ConnectionUtility.getConnection()) {
+                ConnectionUtility.runInTransaction(con, c -> {
+                    PreparedStatement pstmt = c.prepareStatement("SELECT id, client_id FROM accounts");
+                    pstmt.setFetchSize(LOAD_FETCH_SIZE);
+
+                    ResultSet rs = pstmt.executeQuery();
+                    while(rs.next()) {
+                        map.put(rs.getInt("id"), rs.getInt("client_id"));
+                    }
+                    return null;
+                });
+            }
+        });
+    }
+
+    // Loads are serialized so only one of them collects changes at a time
+    static synchronized int load(Loader loader) throws SQLException {
+        synchronized (lock) {
+            changesDuringLoad = new ArrayList<>();
+        }
+
+        IntIntMap loaded = new IntIntMap();
+        try {
+            loader.loadInto(loaded);
+        } catch (SQLException | RuntimeException e) {
+            synchronized (lock) {
+                changesDuringLoad = null;
+            }
+            throw e;
+        }
+
+        synchronized (lock) {
+            for (Consumer<IntIntMap> change : changesDuringLoad) {
+                change.accept(loaded);
+            }
+            changesDuringLoad = null;
+            owners = loaded;
+            return loaded.size();
+        }
+    }
+
+    public static boolean isOwner(int accountId, int clientId) {
+        int owner = owners.get(accountId);
+        return owner != IntIntMap.NO_VALUE && owner == clientId;
+    }
+
+    public static int size() {
+        return owners.size();
+    }
+
+    public static void onChange(ChangeEvent event) {
+        if (event.getEntity() == ChangeEvent.Entity.ACCOUNT && event.getAction() == ChangeEvent.Action.CREATED) {
+            apply(map -> map.put(event.getAccountId(), event.getClientId()));
+        } else if (event.getEntity() == ChangeEvent.Entity.ACCOUNT && event.getAction() == ChangeEvent.Action.DELETED) {
+            accountRemoved(event.getAccountId());
+        } else if (event.getEntity() == ChangeEvent.Entity.CLIENT && event.getAction() == ChangeEvent.Action.DELETED) {
+            clientRemoved(event.getClientId());
+        } else if (event.getEntity() == ChangeEvent.Entity.ALL) {
+            // Deletes may have been missed, and a stale entry would vouch for an account that is gone, so checks
+            // go to the database until the reload is in place
+            synchronized (lock) {
+                owners = new IntIntMap();
+            }
+            try {
+                load();
+            } catch (SQLException e) {
+                logger.error("Failed to reload the account ownership index", e);
+            }
+        }
+    }
+
+    // Added once committed so a rolled back insert never vouches for an account that does not exist
+    static void accountAdded(int accountId, int clientId) {
+        UnitOfWork.afterCommit(() -> apply(map -> map.put(accountId, clientId)));
+    }
+
+    static void accountRemoved(int accountId) {
+        apply(map -> map.remove(accountId));
+    }
+
+    static void clientRemoved(int clientId) {
+        apply(map -> map.removeValues(owner -> owner == clientId));
+    }
+
+    private static void apply(Consumer<IntIntMap> change) {
+        synchronized (lock) {
+            change.accept(owners);
+            if (changesDuringLoad != null) {
+                changesDuringLoad.add(change);
+            }
+        }
+    }
+}
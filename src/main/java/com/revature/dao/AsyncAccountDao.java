@@ -0,0 +1,35 @@
+package com.revature.dao;
+
+import com.revature.model.Account;
+import com.revature.utility.DbExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncAccountDao {
+
+    private final AccountDao accountDao;
+
+    public AsyncAccountDao(AccountDao accountDao) {
+        this.accountDao = accountDao;
+    }
+
+    public CompletableFuture<Account> getAccount(int id, int clientId) {
+        return DbExecutor.supply(() -> accountDao.getAccount(id, clientId));
+    }
+
+    public CompletableFuture<List<Account>> getAccounts(int clientId) {
+        return DbExecutor.supply(() -> accountDao.getAccounts(clientId));
+    }
+
+    public CompletableFuture<List<Account>> getAccountsAfter(int clientId, int afterId, int limit) {
+        return DbExecutor.supply(() -> accountDao.getAccountsAfter(clientId, afterId, limit));
+    }
+
+    public CompletableFuture<Void> checkOwnership(int id, int clientId) {
+        return DbExecutor.supply(() -> {
+            accountDao.checkOwnership(id, clientId);
+            return null;
+        });
+    }
+}
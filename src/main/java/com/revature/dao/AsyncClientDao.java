@@ -0,0 +1,30 @@
+package com.revature.dao;
+
+import com.revature.model.Client;
+import com.revature.utility.DbExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+// Runs the wrapped DAO's reads on the database executor. Wrapping rather than reimplementing keeps the caches and
+// existence filters of the caching DAOs in front of every asynchronous lookup.
+public class AsyncClientDao {
+
+    private final ClientDao clientDao;
+
+    public AsyncClientDao(ClientDao clientDao) {
+        this.clientDao = clientDao;
+    }
+
+    public CompletableFuture<Client> getClient(int id) {
+        return DbExecutor.supply(() -> clientDao.getClient(id));
+    }
+
+    public CompletableFuture<List<Client>> getClients() {
+        return DbExecutor.supply(clientDao::getClients);
+    }
+
+    public CompletableFuture<List<Client>> getClientsAfter(int afterId, int limit) {
+        return DbExecutor.supply(() -> clientDao.getClientsAfter(afterId, limit));
+    }
+}
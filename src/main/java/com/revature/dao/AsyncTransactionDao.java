@@ -0,0 +1,32 @@
+package com.revature.dao;
+
+import com.revature.model.Transaction;
+import com.revature.utility.DbExecutor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+public class AsyncTransactionDao {
+
+    private final TransactionDao transactionDao;
+
+    public AsyncTransactionDao(TransactionDao transactionDao) {
+        this.transactionDao = transactionDao;
+    }
+
+    public CompletableFuture<Transaction> getTransaction(int id, int clientId, int accountId) {
+        return DbExecutor.supply(() -> transactionDao.getTransaction(id, clientId, accountId));
+    }
+
+    public CompletableFuture<List<Transaction>> getTransactions(int clientId, int accountId) {
+        return DbExecutor.supply(() -> transactionDao.getTransactions(clientId, accountId));
+    }
+
+    public CompletableFuture<List<Transaction>> getRecentTransactions(int accountId, int limit) {
+        return DbExecutor.supply(() -> transactionDao.getRecentTransactions(accountId, limit));
+    }
+
+    public CompletableFuture<List<Transaction>> getTransactionsAfter(int clientId, int accountId, int afterId, int limit) {
+        return DbExecutor.supply(() -> transactionDao.getTransactionsAfter(clientId, accountId, afterId, limit));
+    }
+}
@@ -0,0 +1,200 @@
+package com.revature.dao;
+
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.PreconditionFailedException;
+import com.revature.model.Account;
+import com.revature.model.CacheStats;
+import com.revature.model.ChangeEvent;
+import com.revature.utility.BatchLoader;
+import com.revature.utility.LruCache;
+import com.revature.utility.Settings;
+import com.revature.utility.UnitOfWork;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Read-through cache in front of AccountDao keyed by account id. Ownership checks are answered by
+// AccountOwnershipIndex instead, which holds every account rather than just the recently read ones.
+// As in CachingClientDao, a row is only cached if no invalidation happened while it was being loaded, and reads
+// through a request's open transaction bypass the cache.
+public class CachingAccountDao extends AccountDao {
+
+    private static final LruCache<Integer, Account> accounts = new LruCache<>(
+            Settings.getInt("cache_accounts_max_size", 50000),
+            Settings.getInt("cache_accounts_ttl_ms", 60000));
+
+    // Ownership checks the index cannot answer, from concurrent requests, share one WHERE id = ANY(?) query
+    private static final BatchLoader<Integer, Integer> owners = new BatchLoader<>(
+            Settings.getInt("batch_loader_window_us", 1000),
+            Settings.getInt("batch_loader_max_size", 256),
+            ids -> new AccountDao().getOwners(ids));
+
+    // Bumped by every invalidation, under the cache's lock so a load cannot be cached in between
+    private static final AtomicLong generation = new AtomicLong();
+
+    private final ClientDao clientDao = new CachingClientDao();
+
+    public static CacheStats cacheStats() {
+        return accounts.stats();
+    }
+
+    public static Map<String, Object> batchStats() {
+        return owners.stats();
+    }
+
+    public static void invalidateAccount(int id) {
+        invalidate(id);
+        UnitOfWork.afterCommit(() -> invalidate(id));
+    }
+
+    public static void invalidateAccountsForClient(int clientId) {
+        invalidateClient(clientId);
+        UnitOfWork.afterCommit(() -> invalidateClient(clientId));
+    }
+
+    public static void onChange(ChangeEvent event) {
+        switch (event.getEntity()) {
+            case ALL:
+                synchronized (accounts) {
+                    generation.incrementAndGet();
+                    accounts.clear();
+                }
+                break;
+            case CLIENT:
+                if (event.getAction() == ChangeEvent.Action.DELETED)
+                    invalidateClient(event.getClientId());
+                break;
+            case ACCOUNT:
+                if (event.getAction() != ChangeEvent.Action.CREATED)
+                    invalidate(event.getAccountId());
+                break;
+            case TRANSACTION:
+                // Posting, editing or removing a transaction moves the account's balance
+                invalidate(event.getAccountId());
+                break;
+            default:
+                break;
+        }
+    }
+
+    @Override
+    public Account getAccount(int id, int clientId) throws SQLException, ClientNotFoundException {
+        // A request that has already used its transaction must read through it to see its own writes, such as a
+        // balance moved by a transaction it posted, and those are not cached since they may still roll back
+        if (UnitOfWork.inTransaction()) {
+            return super.getAccount(id, clientId);
+        }
+
+        Account cached = accounts.get(id);
+        if (cached != null && cached.getClientId() == clientId) {
+            return copy(cached);
+        }
+
+        if (ExistenceFilter.CLIENTS.isKnownMissing(clientId)) {
+            throw ClientNotFoundException.withoutStackTrace("Client with id " + clientId + " was not found");
+        }
+
+        // The filter only speaks for the account, the 404 still has to say which of the two is missing
+        if (ExistenceFilter.ACCOUNTS.isKnownMissing(id, clientId)) {
+            if (clientDao.getClient(clientId) == null) {
+                throw ClientNotFoundException.withoutStackTrace("Client with id " + clientId + " was not found");
+            }
+            return null;
+        }
+
+        long startGeneration = generation.get();
+        Account a;
+        try {
+            a = super.getAccount(id, clientId);
+        } catch (ClientNotFoundException e) {
+            ExistenceFilter.CLIENTS.recordMissing(clientId);
+            throw e;
+        }
+
+        if (a != null) {
+            put(id, copy(a), startGeneration);
+        } else {
+            ExistenceFilter.ACCOUNTS.recordMissing(id, clientId);
+        }
+
+        return a;
+    }
+
+    @Override
+    public void checkOwnership(int id, int clientId) throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        if (AccountOwnershipIndex.isOwner(id, clientId)) {
+            return;
+        }
+
+        if (UnitOfWork.inTransaction()) {
+            super.checkOwnership(id, clientId);
+            return;
+        }
+
+        Integer owner = owners.get(id);
+        if (owner != null && owner == clientId) {
+            return;
+        }
+
+        // Same distinction as the single-row query: a missing client is reported before a missing account
+        if (clientDao.getClient(clientId) == null) {
+            throw ClientNotFoundException.withoutStackTrace("Client with id " + clientId + " was not found");
+        }
+        throw AccountNotFoundException.withoutStackTrace("Account with id " + id + " was not found for client with id " + clientId);
+    }
+
+    @Override
+    public Account addAccount(Account account) throws SQLException {
+        Account a = super.addAccount(account);
+        ExistenceFilter.ACCOUNTS.added(a.getId(), a.getClientId());
+        return a;
+    }
+
+    @Override
+    public boolean deleteAccount(int id, int clientId) throws SQLException {
+        boolean deleted = super.deleteAccount(id, clientId);
+        if (deleted) {
+            invalidateAccount(id);
+        }
+
+        return deleted;
+    }
+
+    @Override
+    public boolean updateAccount(Account account, Integer expectedVersion) throws SQLException, PreconditionFailedException {
+        boolean updated = super.updateAccount(account, expectedVersion);
+        if (updated) {
+            invalidateAccount(account.getId());
+        }
+
+        return updated;
+    }
+
+    private static void invalidate(int id) {
+        synchronized (accounts) {
+            generation.incrementAndGet();
+            accounts.invalidate(id);
+        }
+    }
+
+    private static void invalidateClient(int clientId) {
+        synchronized (accounts) {
+            generation.incrementAndGet();
+            accounts.invalidateIf((id, a) -> a.getClientId() == clientId);
+        }
+    }
+
+    private static void put(int id, Account a, long startGeneration) {
+        synchronized (accounts) {
+            if (generation.get() == startGeneration) {
+                accounts.put(id, a);
+            }
+        }
+    }
+
+    private static Account copy(Account a) {
+        return new Account(a.getId(), a.getClientId(), a.getBalance(), a.getType(), a.getVersion());
+    }
+}
@@ -0,0 +1,132 @@
+package com.revature.dao;
+
+import com.revature.model.CacheStats;
+import com.revature.model.ChangeEvent;
+import com.revature.model.Client;
+import com.revature.utility.BatchLoader;
+import com.revature.utility.LruCache;
+import com.revature.utility.Settings;
+import com.revature.utility.UnitOfWork;
+
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Read-through cache in front of ClientDao. Entries are shared by every service instance and dropped both
+// when a write happens and again once it commits. A row is only cached if no invalidation happened while it
+// was being loaded, so a concurrent reader cannot put back a row read before the write committed.
+// Ids the ExistenceFilter rules out are reported missing without a query.
+public class CachingClientDao extends ClientDao {
+
+    private static final LruCache<Integer, Client> clients = new LruCache<>(
+            Settings.getInt("cache_clients_max_size", 10000),
+            Settings.getInt("cache_clients_ttl_ms", 60000));
+
+    // Cache misses from concurrent requests share one WHERE id = ANY(?) query
+    private static final BatchLoader<Integer, Client> loader = new BatchLoader<>(
+            Settings.getInt("batch_loader_window_us", 1000),
+            Settings.getInt("batch_loader_max_size", 256),
+            ids -> new ClientDao().getClientsById(ids));
+
+    // Bumped by every invalidation, under the cache's lock so a load cannot be cached in between
+    private static final AtomicLong generation = new AtomicLong();
+
+    public static CacheStats cacheStats() {
+        return clients.stats();
+    }
+
+    public static Map<String, Object> batchStats() {
+        return loader.stats();
+    }
+
+    public static void invalidateClient(int id) {
+        synchronized (clients) {
+            generation.incrementAndGet();
+            clients.invalidate(id);
+        }
+    }
+
+    public static void onChange(ChangeEvent event) {
+        if (event.getEntity() == ChangeEvent.Entity.ALL) {
+            synchronized (clients) {
+                generation.incrementAndGet();
+                clients.clear();
+            }
+        } else if (event.getEntity() == ChangeEvent.Entity.CLIENT && event.getAction() != ChangeEvent.Action.CREATED) {
+            invalidateClient(event.getClientId());
+        }
+    }
+
+    @Override
+    public Client getClient(int id) throws SQLException {
+        Client cached = clients.get(id);
+        if (cached != null) {
+            return copy(cached);
+        }
+
+        if (ExistenceFilter.CLIENTS.isKnownMissing(id)) {
+            return null;
+        }
+
+        // A request that has already used its transaction must read through it to see its own writes, which
+        // are not cached since they may still roll back
+        if (UnitOfWork.inTransaction()) {
+            return super.getClient(id);
+        }
+
+        long startGeneration = generation.get();
+        Client c = loader.get(id);
+        if (c != null) {
+            put(id, copy(c), startGeneration);
+        } else {
+            ExistenceFilter.CLIENTS.recordMissing(id);
+        }
+
+        return c;
+    }
+
+    @Override
+    public Client addClient(Client client) throws SQLException {
+        Client c = super.addClient(client);
+        ExistenceFilter.CLIENTS.added(c.getId());
+        return c;
+    }
+
+    @Override
+    public boolean deleteClient(int id) throws SQLException {
+        boolean deleted = super.deleteClient(id);
+        if (deleted) {
+            invalidateOnCommit(id);
+            CachingAccountDao.invalidateAccountsForClient(id);
+        }
+
+        return deleted;
+    }
+
+    @Override
+    public boolean updateClient(Client client) throws SQLException {
+        boolean updated = super.updateClient(client);
+        if (updated) {
+            invalidateOnCommit(client.getId());
+        }
+
+        return updated;
+    }
+
+    private static void invalidateOnCommit(int id) {
+        invalidateClient(id);
+        UnitOfWork.afterCommit(() -> invalidateClient(id));
+    }
+
+    private static void put(int id, Client c, long startGeneration) {
+        synchronized (clients) {
+            if (generation.get() == startGeneration) {
+                clients.put(id, c);
+            }
+        }
+    }
+
+    private static Client copy(Client c) {
+        return new Client(c.getId(), c.getFirstName(), c.getLastName(), c.getAddress(), c.getDateOfBirth());
+    }
+}
@@ -0,0 +1,49 @@
+package com.revature.dao;
+
+import com.revature.utility.ConnectionUtility;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+public class ChangeEventDao {
+
+    public static final String CHANNEL = "bank_changes";
+
+    // Sent on the request's connection, so Postgres only delivers it if the request's transaction commits. Outside a
+    // request, as in BulkImport, it goes out at once, so it has to be published after the write has committed.
+    public void publish(String payload) throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement pstmt = con.prepareStatement("SELECT pg_notify(?, ?)");
+            pstmt.setString(1, CHANNEL);
+            pstmt.setString(2, payload);
+
+            pstmt.executeQuery();
+        }
+    }
+
+    // Blocks on a dedicated connection outside the pool until the thread is interrupted or the connection fails
+    public void listen(int pollMillis, Runnable onListening, Consumer<String> handler) throws SQLException {
+        try (Connection con = ConnectionUtility.openConnection()) {
+            try (Statement stmt = con.createStatement()) {
+                stmt.execute("LISTEN " + CHANNEL);
+            }
+            onListening.run();
+
+            PGConnection pgCon = con.unwrap(PGConnection.class);
+            while(!Thread.currentThread().isInterrupted()) {
+                PGNotification[] notifications = pgCon.getNotifications(pollMillis);
+                if(notifications == null)
+                    continue;
+
+                for(PGNotification n : notifications) {
+                    handler.accept(n.getParameter());
+                }
+            }
+        }
+    }
+}
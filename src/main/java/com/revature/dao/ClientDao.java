@@ -5,7 +5,9 @@ import com.revature.utility.ConnectionUtility;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class ClientDao {
 
@@ -29,6 +31,30 @@ public class ClientDao {
         return null;
     }
 
+    // One round trip for a batch of point lookups; ids with no row are simply absent from the map
+    public Map<Integer, Client> getClientsById(List<Integer> ids) throws SQLException {
+        Map<Integer, Client> clients = new HashMap<>();
+
+        try (Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT * FROM clients WHERE id = ANY(?)";
+
+            PreparedStatement pstmt = con.prepareStatement(sql);
+            pstmt.setArray(1, con.createArrayOf("integer", ids.toArray()));
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                int id = rs.getInt("id");
+                String firstName = rs.getString("first_name");
+                String lastName = rs.getString("last_name");
+                String address = rs.getString("address");
+                String date = rs.getDate("date_of_birth").toString();
+                clients.put(id, new Client(id, firstName, lastName, address, date));
+            }
+        }
+
+        return clients;
+    }
+
     public List<Client> getClients() throws SQLException {
         List<Client> clients = new ArrayList<>();
 
@@ -51,6 +77,30 @@ public class ClientDao {
         return clients;
     }
 
+    public List<Client> getClientsAfter(int afterId, int limit) throws SQLException {
+        List<Client> clients = new ArrayList<>();
+
+        try (Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT * FROM clients WHERE id > ? ORDER BY id LIMIT ?";
+
+            PreparedStatement pstmt = con.prepareStatement(sql);
+            pstmt.setInt(1, afterId);
+            pstmt.setInt(2, limit);
+
+            ResultSet rs = pstmt.executeQuery();
+            while (rs.next()) {
+                int id = rs.getInt("id");
+                String firstName = rs.getString("first_name");
+                String lastName = rs.getString("last_name");
+                String address = rs.getString("address");
+                String date = rs.getDate("date_of_birth").toString();
+                clients.add(new Client(id, firstName, lastName, address, date));
+            }
+        }
+
+        return clients;
+    }
+
     public Client addClient(Client client) throws SQLException {
         try (Connection con = ConnectionUtility.getConnection()) {
             String sql = "INSERT INTO clients (first_name, last_name, address, date_of_birth) VALUES (?, ?, ?, ?)";
@@ -78,8 +128,10 @@ public class ClientDao {
             PreparedStatement pstmt = con.prepareStatement(sql);
             pstmt.setInt(1, id);
 
-            if(pstmt.executeUpdate() == 1)
+            if(pstmt.executeUpdate() == 1) {
+                AccountOwnershipIndex.clientRemoved(id);
                 return true;
+            }
         }
 
         return false;
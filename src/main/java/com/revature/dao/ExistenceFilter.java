@@ -0,0 +1,249 @@
+package com.revature.dao;
+
+import com.revature.model.CacheStats;
+import com.revature.model.ChangeEvent;
+import com.revature.utility.BloomFilter;
+import com.revature.utility.ConnectionUtility;
+import com.revature.utility.LruCache;
+import com.revature.utility.Settings;
+import com.revature.utility.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Answers "this id definitely does not exist" without a query. A Bloom filter of every id in the table, rebuilt
+// periodically and fed by CREATED events from every node, rules out ids up to the highest id seen when it was
+// built; ids above that fall back to a short-lived cache of lookups the database already answered as missing.
+// Rows that arrive without a CREATED event (an import, or events lost while the listener reconnected) are
+// announced by an ALL event, after which the filter stops answering until a rebuild has read them.
+// Misses are scoped so "client 5 has no account 9" can be cached as well.
+public class ExistenceFilter {
+
+    private static Logger logger = LoggerFactory.getLogger(ExistenceFilter.class);
+
+    public static final ExistenceFilter CLIENTS = new ExistenceFilter("clients");
+    public static final ExistenceFilter ACCOUNTS = new ExistenceFilter("accounts");
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+    private static final int LOAD_FETCH_SIZE = 10000;
+
+    private final String table;
+    private final LruCache<Long, Boolean> misses = new LruCache<>(
+            Settings.getInt("negative_cache_max_size", 100000),
+            Settings.getInt("negative_cache_ttl_ms", 5000));
+    private final ConcurrentLinkedQueue<Integer> addedDuringRebuild = new ConcurrentLinkedQueue<>();
+    private final LongAdder filtered = new LongAdder();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+    private volatile boolean rebuilding;
+
+    private static volatile ScheduledExecutorService scheduler;
+
+    ExistenceFilter(String table) {
+        this.table = table;
+    }
+
+    public static void startRebuilding() {
+        long interval = Settings.getInt("existence_filter_rebuild_interval_ms", 300000);
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "existence-filter-rebuild");
+            t.setDaemon(true);
+            return t;
+        });
+
+        executor.scheduleWithFixedDelay(() -> {
+            CLIENTS.rebuildQuietly();
+            ACCOUNTS.rebuildQuietly();
+        }, 0, interval, TimeUnit.MILLISECONDS);
+        scheduler = executor;
+    }
+
+    public static void onChange(ChangeEvent event) {
+        if (event.getEntity() == ChangeEvent.Entity.ALL) {
+            CLIENTS.invalidate();
+            ACCOUNTS.invalidate();
+        } else if (event.getAction() == ChangeEvent.Action.CREATED) {
+            if (event.getEntity() == ChangeEvent.Entity.CLIENT)
+                CLIENTS.added(event.getClientId());
+            else if (event.getEntity() == ChangeEvent.Entity.ACCOUNT)
+                ACCOUNTS.added(event.getAccountId(), event.getClientId());
+        }
+    }
+
+    public boolean isKnownMissing(int id) {
+        return isKnownMissing(id, 0);
+    }
+
+    public boolean isKnownMissing(int id, int scope) {
+        // Ids come from serial columns, so nothing at or below zero can exist
+        Snapshot s = snapshot;
+        if (id <= 0 || (s != null && id <= s.maxId && !s.ids.mightContain(id))) {
+            filtered.increment();
+            return true;
+        }
+
+        return misses.get(key(id, scope)) != null;
+    }
+
+    public void recordMissing(int id) {
+        recordMissing(id, 0);
+    }
+
+    public void recordMissing(int id, int scope) {
+        misses.put(key(id, scope), Boolean.TRUE);
+    }
+
+    public void added(int id) {
+        added(id, 0);
+    }
+
+    public void added(int id, int scope) {
+        long key = key(id, scope);
+        misses.invalidate(key);
+        UnitOfWork.afterCommit(() -> {
+            misses.invalidate(key);
+            addToFilter(id);
+        });
+    }
+
+    public void clearMisses() {
+        misses.clear();
+    }
+
+    // Rows were added that this node was not told about one by one, so neither the filter nor the cached misses
+    // can be trusted until the table has been read again
+    public void invalidate() {
+        synchronized (this) {
+            invalidations.incrementAndGet();
+            snapshot = null;
+        }
+        misses.clear();
+
+        ScheduledExecutorService executor = scheduler;
+        if (executor != null) {
+            executor.execute(this::rebuildQuietly);
+        }
+    }
+
+    boolean isFiltering() {
+        return snapshot != null;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public long getFilteredCount() {
+        return filtered.sum();
+    }
+
+    public CacheStats missCacheStats() {
+        return misses.stats();
+    }
+
+    public void rebuild() throws SQLException {
+        long invalidationsAtStart = invalidations.get();
+        rebuilding = true;
+        try (Connection con = ConnectionUtility.getConnection()) {
+            Snapshot rebuilt = ConnectionUtility.runInTransaction(con, c -> {
+                ResultSet count = c.prepareStatement("SELECT count(*) FROM " + table).executeQuery();
+                count.next();
+
+                // Leave headroom for the inserts made before the next rebuild
+                BloomFilter ids = new BloomFilter((int) Math.min(count.getLong(1) * 2, Integer.MAX_VALUE), FALSE_POSITIVE_RATE);
+                int maxId = 0;
+
+                PreparedStatement pstmt = c.prepareStatement("SELECT id FROM " + table);
+                pstmt.setFetchSize(LOAD_FETCH_SIZE);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    int id = rs.getInt(1);
+                    ids.add(id);
+                    maxId = Math.max(maxId, id);
+                }
+
+                return new Snapshot(ids, maxId);
+            });
+
+            install(rebuilt, invalidationsAtStart);
+        } finally {
+            rebuilding = false;
+        }
+
+        // Ids committed while the table was being read may have gone into the old filter only
+        Integer id;
+        while ((id = addedDuringRebuild.poll()) != null) {
+            addToFilter(id);
+        }
+    }
+
+    // A filter read before the latest invalidation may be missing the rows that caused it; the rebuild queued by
+    // the invalidation replaces it
+    boolean install(BloomFilter ids, int maxId, long invalidationsAtStart) {
+        return install(new Snapshot(ids, maxId), invalidationsAtStart);
+    }
+
+    long getInvalidations() {
+        return invalidations.get();
+    }
+
+    private synchronized boolean install(Snapshot rebuilt, long invalidationsAtStart) {
+        if (invalidations.get() != invalidationsAtStart) {
+            return false;
+        }
+
+        snapshot = rebuilt;
+        return true;
+    }
+
+    private void rebuildQuietly() {
+        try {
+            rebuild();
+        } catch (SQLException | RuntimeException e) {
+            logger.error("Failed to rebuild the existence filter for " + table, e);
+        }
+    }
+
+    // Runs once the insert is committed, so a rebuild that starts later reads the row itself; one already under way
+    // either replays the queued id or has swapped in its filter by the time the second check runs
+    private void addToFilter(int id) {
+        Snapshot s = snapshot;
+        if (s != null)
+            s.add(id);
+        if (rebuilding)
+            addedDuringRebuild.add(id);
+
+        Snapshot latest = snapshot;
+        if (latest != s && latest != null)
+            latest.add(id);
+    }
+
+    private static long key(int id, int scope) {
+        return ((long) scope << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    private static class Snapshot {
+        private final BloomFilter ids;
+        private final int maxId;
+
+        private Snapshot(BloomFilter ids, int maxId) {
+            this.ids = ids;
+            this.maxId = maxId;
+        }
+
+        private void add(int id) {
+            ids.add(id);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.revature.dao;
+
+import com.revature.model.Transaction;
+import com.revature.utility.ConnectionUtility;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Used only by the group-commit writer thread. It opens its own connection outside the pool, so the writer never
+// competes for a pooled connection with the requests that are waiting on it for their ids, and keeps it until a
+// failure suggests the connection is broken.
+public class GroupCommitDao {
+
+    private Connection con;
+
+    // Every transaction gets the same conditional insert as TransactionDao.addTransaction, run in order through one
+    // prepared statement, and the batch shares one commit. A null id means that account had insufficient funds at
+    // that point in the batch and nothing was written for it.
+    public List<Integer> addTransactions(List<Transaction> transactions) throws SQLException {
+        try {
+            return ConnectionUtility.runInTransaction(connection(), c -> {
+                try (PreparedStatement pstmt = c.prepareStatement(TransactionDao.INSERT_AND_ADJUST_SQL)) {
+                    List<Integer> ids = new ArrayList<>(transactions.size());
+                    for(Transaction transaction : transactions) {
+                        ids.add(TransactionDao.insertAndAdjust(pstmt, transaction));
+                    }
+                    return ids;
+                }
+            });
+        } catch (SQLException e) {
+            // The connection may be broken; drop it and open a fresh one for the next batch
+            close();
+            throw e;
+        }
+    }
+
+    // Inserts a single transaction in its own transaction on the writer's connection, for retrying the rows of a
+    // failed batch one at a time
+    public Integer addTransaction(Transaction transaction) throws SQLException {
+        return addTransactions(Collections.singletonList(transaction)).get(0);
+    }
+
+    // Checked on the writer's connection for a row the batch wrote nothing for, as TransactionDao.addTransaction does
+    public boolean accountExists(int accountId) throws SQLException {
+        try {
+            return TransactionDao.accountExists(connection(), accountId);
+        } catch (SQLException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public void close() {
+        if(con == null)
+            return;
+
+        try {
+            con.close();
+        } catch (SQLException e) {
+            // Discarded either way
+        }
+        con = null;
+    }
+
+    private Connection connection() throws SQLException {
+        if(con == null)
+            con = ConnectionUtility.openConnection();
+        return con;
+    }
+}
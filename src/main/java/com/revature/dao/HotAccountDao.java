@@ -0,0 +1,93 @@
+package com.revature.dao;
+
+import com.revature.model.Account;
+import com.revature.model.FoldedDeposits;
+import com.revature.model.Transaction;
+import com.revature.utility.ConnectionUtility;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+
+// Deposits to hot accounts are written to the transactions table without touching the account row. The rows
+// are the durable log: until a fold marks them applied, their amounts are pending on top of accounts.balance.
+public class HotAccountDao {
+
+    public Transaction addPendingDeposit(Transaction transaction) throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            String sql = "INSERT INTO transactions (account_id, amount, transaction_type, description, transaction_date, balance_applied) " +
+                    "VALUES (?, ?, ?, ?, ?, false)";
+
+            PreparedStatement pstmt = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+            pstmt.setInt(1, transaction.getAccountId());
+            pstmt.setInt(2, transaction.getAmount());
+            pstmt.setString(3, transaction.getType());
+            pstmt.setString(4, transaction.getDescription());
+            pstmt.setDate(5, Date.valueOf(transaction.getDate()));
+
+            pstmt.executeUpdate();
+
+            ResultSet rs = pstmt.getGeneratedKeys();
+            rs.next();
+            int id = rs.getInt(1);
+
+            return new Transaction(id, transaction.getAccountId(), transaction.getAmount(), transaction.getType(), transaction.getDescription(), transaction.getDate());
+        }
+    }
+
+    // Reads each account with its pending rows already added to the balance. Both come from one statement, so a
+    // fold committing in between cannot leave the same deposits counted twice or not at all.
+    public List<Account> getAccountsWithPending(Integer[] accountIds) throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT a.id, a.client_id, a.balance + coalesce((" +
+                    "SELECT sum(CASE WHEN t.transaction_type = 'Deposit' THEN t.amount ELSE -t.amount END) " +
+                    "FROM transactions t WHERE t.account_id = a.id AND NOT t.balance_applied), 0) AS balance, " +
+                    "a.account_type, a.version " +
+                    "FROM accounts a WHERE a.id = ANY(?)";
+
+            PreparedStatement pstmt = con.prepareStatement(sql);
+            pstmt.setArray(1, con.createArrayOf("integer", accountIds));
+
+            List<Account> accounts = new ArrayList<>();
+            ResultSet rs = pstmt.executeQuery();
+            while(rs.next()) {
+                accounts.add(new Account(rs.getInt("id"), rs.getInt("client_id"), rs.getInt("balance"),
+                        rs.getString("account_type"), rs.getInt("version")));
+            }
+
+            return accounts;
+        }
+    }
+
+    // Marks every pending row of the given accounts applied and adds their sum to each balance in one statement.
+    // Rows a concurrent fold already claimed are skipped once its transaction commits, so nodes can fold at once.
+    public List<FoldedDeposits> fold(Integer[] accountIds) throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            return fold(con, accountIds);
+        }
+    }
+
+    // Folds on a connection the caller is already using, so the fold joins a transaction that holds the account
+    // row locks instead of queueing behind them
+    public List<FoldedDeposits> fold(Connection con, Integer[] accountIds) throws SQLException {
+        String sql = "WITH folded AS (" +
+                "UPDATE transactions SET balance_applied = true " +
+                "WHERE account_id = ANY(?) AND NOT balance_applied " +
+                "RETURNING account_id, CASE WHEN transaction_type = 'Deposit' THEN amount ELSE -amount END AS signed_amount), " +
+                "deltas AS (SELECT account_id, sum(signed_amount) AS delta FROM folded GROUP BY account_id) " +
+                "UPDATE accounts a SET balance = a.balance + d.delta, version = a.version + 1 " +
+                "FROM deltas d WHERE a.id = d.account_id " +
+                "RETURNING a.id, a.client_id, d.delta";
+
+        PreparedStatement pstmt = con.prepareStatement(sql);
+        pstmt.setArray(1, con.createArrayOf("integer", accountIds));
+
+        List<FoldedDeposits> folded = new ArrayList<>();
+        ResultSet rs = pstmt.executeQuery();
+        while(rs.next()) {
+            folded.add(new FoldedDeposits(rs.getInt(1), rs.getInt(2), rs.getLong(3)));
+        }
+
+        return folded;
+    }
+}
@@ -0,0 +1,77 @@
+package com.revature.dao;
+
+import com.revature.model.IdempotentResponse;
+import com.revature.utility.ConnectionUtility;
+
+import java.sql.*;
+
+public class IdempotencyDao {
+
+    // Inserts a placeholder row for the key on the request's connection. The row stays locked until the request
+    // commits or rolls back, so a concurrent retry with the same key waits here and then sees the finished
+    // response, or claims the key itself if the first attempt failed. A committed row without a status has no
+    // response to replay and is taken over, locked, like a fresh claim. Returns null once the key is claimed.
+    public IdempotentResponse claim(String scope, long ttlMillis) throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement expire = con.prepareStatement("DELETE FROM idempotency_keys " +
+                    "WHERE scope = ? AND created_at < now() - ? * interval '1 millisecond'");
+            expire.setString(1, scope);
+            expire.setLong(2, ttlMillis);
+            expire.executeUpdate();
+
+            PreparedStatement insert = con.prepareStatement("INSERT INTO idempotency_keys (scope) VALUES (?) ON CONFLICT DO NOTHING");
+            insert.setString(1, scope);
+            if(insert.executeUpdate() == 1) {
+                return null;
+            }
+
+            PreparedStatement select = con.prepareStatement("SELECT status, content_type, body FROM idempotency_keys " +
+                    "WHERE scope = ? FOR UPDATE");
+            select.setString(1, scope);
+
+            ResultSet rs = select.executeQuery();
+            if(!rs.next()) {
+                return null;
+            }
+
+            int status = rs.getInt("status");
+            if(rs.wasNull()) {
+                return null;
+            }
+
+            return new IdempotentResponse(status, rs.getString("content_type"), rs.getBytes("body"));
+        }
+    }
+
+    public void complete(String scope, IdempotentResponse response) throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement pstmt = con.prepareStatement("UPDATE idempotency_keys SET status = ?, content_type = ?, body = ? WHERE scope = ?");
+            pstmt.setInt(1, response.getStatus());
+            pstmt.setString(2, response.getContentType());
+            pstmt.setBytes(3, response.getBody());
+            pstmt.setString(4, scope);
+
+            pstmt.executeUpdate();
+        }
+    }
+
+    // Drops a claim whose response is not being recorded, so a request that commits anyway (a redirect, say)
+    // does not leave a row behind for a retry to find
+    public void release(String scope) throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement pstmt = con.prepareStatement("DELETE FROM idempotency_keys WHERE scope = ? AND status IS NULL");
+            pstmt.setString(1, scope);
+
+            pstmt.executeUpdate();
+        }
+    }
+
+    public int purgeExpired(long ttlMillis) throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement pstmt = con.prepareStatement("DELETE FROM idempotency_keys WHERE created_at < now() - ? * interval '1 millisecond'");
+            pstmt.setLong(1, ttlMillis);
+
+            return pstmt.executeUpdate();
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.revature.dao;
+
+import com.revature.model.ImportReport;
+import com.revature.utility.ConnectionUtility;
+import com.revature.utility.UnitOfWork;
+import org.postgresql.PGConnection;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+// Loads CSV files with COPY into temporary staging tables, then moves the rows that pass validation into the
+// real tables with one INSERT ... SELECT. The WHERE clauses mirror the checks in ClientService,
+// AccountService and TransactionService; rows that fail them are counted as rejects.
+public class ImportDao {
+
+    public ImportReport importClients(Reader csv) throws SQLException, IOException {
+        String createSql = "CREATE TEMP TABLE staging_clients " +
+                "(first_name text, last_name text, address text, date_of_birth text) ON COMMIT DROP";
+        String copySql = "COPY staging_clients (first_name, last_name, address, date_of_birth) " +
+                "FROM STDIN WITH (FORMAT csv, HEADER true)";
+        String mergeSql = "INSERT INTO clients (first_name, last_name, address, date_of_birth) " +
+                "SELECT btrim(first_name), btrim(last_name), btrim(address), date_of_birth::date " +
+                "FROM staging_clients " +
+                "WHERE btrim(first_name) ~ '^[a-zA-Z]+$' " +
+                "AND btrim(last_name) ~ '^[a-zA-Z]+$' " +
+                "AND btrim(address) ~ '^\\d+\\s([a-zA-Z0-9]+(\\s?))+$' " +
+                "AND " + isCalendarDate("date_of_birth");
+
+        ImportReport report = runImport("clients", createSql, copySql, mergeSql, csv);
+        UnitOfWork.afterCommit(ExistenceFilter.CLIENTS::invalidate);
+        return report;
+    }
+
+    public ImportReport importAccounts(Reader csv) throws SQLException, IOException {
+        String createSql = "CREATE TEMP TABLE staging_accounts " +
+                "(client_id text, balance text, account_type text) ON COMMIT DROP";
+        String copySql = "COPY staging_accounts (client_id, balance, account_type) " +
+                "FROM STDIN WITH (FORMAT csv, HEADER true)";
+        String mergeSql = "INSERT INTO accounts (client_id, balance, account_type) " +
+                "SELECT s.client_id::int, s.balance::int, btrim(s.account_type) " +
+                "FROM staging_accounts s " +
+                "WHERE s.client_id ~ '^\\d{1,9}$' " +
+                "AND s.balance ~ '^\\d{1,9}$' " +
+                "AND (s.account_type LIKE '%Checking%' OR s.account_type LIKE '%Savings%') " +
+                "AND EXISTS (SELECT 1 FROM clients c WHERE c.id = CASE WHEN s.client_id ~ '^\\d{1,9}$' THEN s.client_id::int END)";
+
+        ImportReport report = runImport("accounts", createSql, copySql, mergeSql, csv);
+        UnitOfWork.afterCommit(ExistenceFilter.ACCOUNTS::invalidate);
+        return report;
+    }
+
+    public ImportReport importTransactions(Reader csv) throws SQLException, IOException {
+        String createSql = "CREATE TEMP TABLE staging_transactions " +
+                "(account_id text, amount text, transaction_type text, description text, transaction_date text) ON COMMIT DROP";
+        String copySql = "COPY staging_transactions (account_id, amount, transaction_type, description, transaction_date) " +
+                "FROM STDIN WITH (FORMAT csv, HEADER true)";
+        // Imported history moves balances by each account's net amount. Unlike postings through the API it is not
+        // checked for overdrafts, since the rows record what already happened.
+        String mergeSql = "WITH inserted AS (" +
+                "INSERT INTO transactions (account_id, amount, transaction_type, description, transaction_date) " +
+                "SELECT s.account_id::int, s.amount::int, btrim(s.transaction_type), btrim(s.description), s.transaction_date::date " +
+                "FROM staging_transactions s " +
+                "WHERE s.account_id ~ '^\\d{1,9}$' " +
+                "AND s.amount ~ '^0*[1-9]\\d{0,8}$' " +
+                "AND btrim(s.transaction_type) IN ('Withdrawal', 'Deposit') " +
+                "AND s.description IS NOT NULL " +
+                "AND " + isCalendarDate("s.transaction_date") + " " +
+                "AND EXISTS (SELECT 1 FROM accounts a WHERE a.id = CASE WHEN s.account_id ~ '^\\d{1,9}$' THEN s.account_id::int END) " +
+                "RETURNING account_id, CASE WHEN transaction_type = 'Deposit' THEN amount ELSE -amount END AS signed_amount), " +
+                "adjusted AS (" +
+                "UPDATE accounts a SET balance = a.balance + d.delta, version = a.version + 1 " +
+                "FROM (SELECT account_id, sum(signed_amount) AS delta FROM inserted GROUP BY account_id) d " +
+                "WHERE a.id = d.account_id) " +
+                "SELECT count(*) FROM inserted";
+
+        return runImport("transactions", createSql, copySql, mergeSql, csv);
+    }
+
+    // A text column holds a real YYYY-MM-DD date. A row like 2022-02-30 passes a pattern check but fails the ::date
+    // cast, which would abort the whole import, so the day is compared with the month's length first. The CASE
+    // keeps the integer casts away from rows the pattern rejected, since Postgres may evaluate AND terms in any order.
+    private static String isCalendarDate(String column) {
+        return "CASE WHEN " + column + " ~ '^\\d{4}-(0[1-9]|1[0-2])-(0[1-9]|[12]\\d|3[01])$' AND left(" + column + ", 4) <> '0000' " +
+                "THEN substr(" + column + ", 9, 2)::int <= extract(day from make_date(left(" + column + ", 4)::int, substr(" + column + ", 6, 2)::int, 1) " +
+                "+ interval '1 month' - interval '1 day') " +
+                "ELSE false END";
+    }
+
+    private ImportReport runImport(String table, String createSql, String copySql, String mergeSql, Reader csv) throws SQLException, IOException {
+        long start = System.currentTimeMillis();
+
+        try (Connection con = ConnectionUtility.getConnection()) {
+            long[] counts = ConnectionUtility.runInTransaction(con, c -> {
+                Statement stmt = c.createStatement();
+                stmt.execute(createSql);
+
+                long loaded;
+                try {
+                    loaded = c.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql, csv);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                long merged;
+                if(stmt.execute(mergeSql)) {
+                    ResultSet rs = stmt.getResultSet();
+                    rs.next();
+                    merged = rs.getLong(1);
+                } else {
+                    merged = stmt.getUpdateCount();
+                }
+                return new long[]{loaded, merged};
+            });
+
+            return new ImportReport(table, counts[0], counts[1], System.currentTimeMillis() - start);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
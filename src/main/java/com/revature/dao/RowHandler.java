@@ -0,0 +1,10 @@
+package com.revature.dao;
+
+import java.io.IOException;
+
+@FunctionalInterface
+public interface RowHandler<T> {
+
+    public void handle(T row) throws IOException;
+
+}
@@ -1,140 +1,389 @@
 package com.revature.dao;
 
-import com.revature.model.Account;
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.exception.PreconditionFailedException;
 import com.revature.model.Transaction;
 import com.revature.utility.ConnectionUtility;
 
+import java.io.IOException;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TransactionDao {
 
-    public Transaction getTransaction(int id, int accountId) throws SQLException {
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    // What a row has contributed to its account's balance so far. Pending hot-account deposits have not been
+    // folded in yet, so editing or removing one only has to account for the new amount.
+    private static final String APPLIED_SIGNED_AMOUNT =
+            "CASE WHEN NOT balance_applied THEN 0 WHEN transaction_type = 'Deposit' THEN amount ELSE -amount END";
+
+    public Transaction getTransaction(int id, int clientId, int accountId) throws SQLException, ClientNotFoundException, AccountNotFoundException {
         try (Connection con = ConnectionUtility.getConnection()) {
-            String sql = "SELECT * FROM transactions WHERE id = ? AND account_id = ?";
+            String sql = "SELECT a.id AS owner_account_id, t.* FROM clients c " +
+                    "LEFT JOIN accounts a ON a.id = ? AND a.client_id = c.id " +
+                    "LEFT JOIN transactions t ON t.id = ? AND t.account_id = a.id " +
+                    "WHERE c.id = ?";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
-            pstmt.setInt(1, id);
-            pstmt.setInt(2, accountId);
+            pstmt.setInt(1, accountId);
+            pstmt.setInt(2, id);
+            pstmt.setInt(3, clientId);
 
-            ResultSet rs = pstmt.executeQuery();
-            if(rs.next()) {
-                int amount = rs.getInt("amount");
-                String type = rs.getString("transaction_type");
-                String description = rs.getString("description");
-                String date = rs.getDate("transaction_date").toString();
-                return new Transaction(id, accountId, amount, type, description, date);
+            List<Transaction> transactions = readTransactions(pstmt.executeQuery(), clientId, accountId);
+            if(!transactions.isEmpty()) {
+                return transactions.get(0);
             }
         }
 
         return null;
     }
 
-    public List<Transaction> getTransactions(int accountId) throws SQLException {
-        List<Transaction> transactions = new ArrayList<>();
-
+    public List<Transaction> getTransactions(int clientId, int accountId) throws SQLException, ClientNotFoundException, AccountNotFoundException {
         try(Connection con = ConnectionUtility.getConnection()) {
-            String sql = "SELECT * FROM transactions where account_id = ?";
+            String sql = "SELECT a.id AS owner_account_id, t.* FROM clients c " +
+                    "LEFT JOIN accounts a ON a.id = ? AND a.client_id = c.id " +
+                    "LEFT JOIN transactions t ON t.account_id = a.id " +
+                    "WHERE c.id = ?";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
             pstmt.setInt(1, accountId);
+            pstmt.setInt(2, clientId);
 
-            ResultSet rs = pstmt.executeQuery();
-            while(rs.next()) {
-                int id = rs.getInt("id");
-                int amount = rs.getInt("amount");
-                String type = rs.getString("transaction_type");
-                String description = rs.getString("description");
-                String date = rs.getDate("transaction_date").toString();
-                transactions.add(new Transaction(id, accountId, amount, type, description, date));
-            }
+            return readTransactions(pstmt.executeQuery(), clientId, accountId);
         }
+    }
 
-        return transactions;
+    public List<Transaction> getTransactions(int clientId, int accountId, String descriptionContains) throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        try(Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT a.id AS owner_account_id, t.* FROM clients c " +
+                    "LEFT JOIN accounts a ON a.id = ? AND a.client_id = c.id " +
+                    "LEFT JOIN transactions t ON t.account_id = a.id AND t.description LIKE ? " +
+                    "WHERE c.id = ?";
+
+            PreparedStatement pstmt = con.prepareStatement(sql);
+            pstmt.setInt(1, accountId);
+            pstmt.setString(2, "%" + descriptionContains + "%");
+            pstmt.setInt(3, clientId);
+
+            return readTransactions(pstmt.executeQuery(), clientId, accountId);
+        }
     }
 
-    public List<Transaction> getTransactions(int accountId, String descriptionContains) throws SQLException {
-        List<Transaction> transactions = new ArrayList<>();
+    public List<Transaction> getTransactionsAfter(int clientId, int accountId, int afterId, int limit) throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        try(Connection con = ConnectionUtility.getConnection()) {
+            String sql = "SELECT a.id AS owner_account_id, t.* FROM clients c " +
+                    "LEFT JOIN accounts a ON a.id = ? AND a.client_id = c.id " +
+                    "LEFT JOIN transactions t ON t.account_id = a.id AND t.id > ? " +
+                    "WHERE c.id = ? ORDER BY t.id LIMIT ?";
+
+            PreparedStatement pstmt = con.prepareStatement(sql);
+            pstmt.setInt(1, accountId);
+            pstmt.setInt(2, afterId);
+            pstmt.setInt(3, clientId);
+            pstmt.setInt(4, limit);
+
+            return readTransactions(pstmt.executeQuery(), clientId, accountId);
+        }
+    }
 
+    // Newest first. Callers already know the account belongs to the client, so there is no ownership join here.
+    public List<Transaction> getRecentTransactions(int accountId, int limit) throws SQLException {
         try(Connection con = ConnectionUtility.getConnection()) {
-            String sql = "SELECT * FROM transactions where account_id = ? AND description LIKE ?";
+            String sql = "SELECT * FROM transactions WHERE account_id = ? ORDER BY id DESC LIMIT ?";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
             pstmt.setInt(1, accountId);
-            pstmt.setString(2, "%" + descriptionContains + "%");
+            pstmt.setInt(2, limit);
 
+            List<Transaction> transactions = new ArrayList<>();
             ResultSet rs = pstmt.executeQuery();
             while(rs.next()) {
-                int id = rs.getInt("id");
-                int amount = rs.getInt("amount");
-                String type = rs.getString("transaction_type");
-                String description = rs.getString("description");
-                String date = rs.getDate("transaction_date").toString();
-                transactions.add(new Transaction(id, accountId, amount, type, description, date));
+                transactions.add(new Transaction(rs.getInt("id"), accountId, rs.getInt("amount"), rs.getString("transaction_type"),
+                        rs.getString("description"), rs.getDate("transaction_date").toString(), rs.getInt("version")));
             }
+
+            return transactions;
         }
+    }
 
-        return transactions;
+    // Reads the whole history through a server-side cursor, handing rows over as they arrive instead of
+    // materializing them. The driver only uses a cursor when auto-commit is off and a fetch size is set.
+    public void streamTransactions(int clientId, int accountId, RowHandler<Transaction> handler) throws SQLException, IOException, ClientNotFoundException, AccountNotFoundException {
+        try(Connection con = ConnectionUtility.getConnection()) {
+            boolean autoCommit = con.getAutoCommit();
+            if(autoCommit)
+                con.setAutoCommit(false);
+
+            try {
+                String sql = "SELECT a.id AS owner_account_id, t.* FROM clients c " +
+                        "LEFT JOIN accounts a ON a.id = ? AND a.client_id = c.id " +
+                        "LEFT JOIN transactions t ON t.account_id = a.id " +
+                        "WHERE c.id = ? ORDER BY t.id";
+
+                PreparedStatement pstmt = con.prepareStatement(sql);
+                pstmt.setFetchSize(STREAM_FETCH_SIZE);
+                pstmt.setInt(1, accountId);
+                pstmt.setInt(2, clientId);
+
+                ResultSet rs = pstmt.executeQuery();
+                if(!rs.next()) {
+                    throw new ClientNotFoundException("Client with id " + clientId + " was not found");
+                }
+
+                rs.getInt("owner_account_id");
+                if(rs.wasNull()) {
+                    throw new AccountNotFoundException("Account with id " + accountId + " was not found for client with id " + clientId);
+                }
+
+                do {
+                    int id = rs.getInt("id");
+                    if(rs.wasNull())
+                        continue;
+
+                    int amount = rs.getInt("amount");
+                    String type = rs.getString("transaction_type");
+                    String description = rs.getString("description");
+                    String date = rs.getDate("transaction_date").toString();
+                    int version = rs.getInt("version");
+                    handler.handle(new Transaction(id, accountId, amount, type, description, date, version));
+                } while(rs.next());
+            } finally {
+                if(autoCommit) {
+                    con.rollback();
+                    con.setAutoCommit(true);
+                }
+            }
+        }
     }
 
-    public Transaction addTransaction(Transaction transaction) throws SQLException {
+    // Inserts the transaction and moves the account balance in one statement. The UPDATE only takes the account's
+    // row lock, so concurrent postings to one account queue behind each other briefly and other accounts are untouched.
+    public Transaction addTransaction(Transaction transaction) throws SQLException, InsufficientFundsException, AccountNotFoundException {
         try (Connection con = ConnectionUtility.getConnection()) {
-            String sql = "INSERT INTO transactions (account_id, amount, transaction_type, description, transaction_date) VALUES (?, ?, ?, ?, ?)";
+            Integer id = insertAndAdjust(con, transaction);
+            if(id == null) {
+                if(!accountExists(con, transaction.getAccountId())) {
+                    throw AccountNotFoundException.withoutStackTrace("Account with id " + transaction.getAccountId() + " was not found");
+                }
+                throw new InsufficientFundsException("Account with id " + transaction.getAccountId() + " has insufficient funds for a withdrawal of " + transaction.getAmount());
+            }
 
-            PreparedStatement pstmt = con.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
-            pstmt.setInt(1, transaction.getAccountId());
-            pstmt.setInt(2, transaction.getAmount());
-            pstmt.setString(3, transaction.getType());
-            pstmt.setString(4, transaction.getDescription());
-            pstmt.setDate(5, Date.valueOf(transaction.getDate()));
+            return new Transaction(id, transaction.getAccountId(), transaction.getAmount(), transaction.getType(), transaction.getDescription(), transaction.getDate());
+        }
+    }
 
-            pstmt.executeUpdate();
+    static final String INSERT_AND_ADJUST_SQL = "WITH adjusted AS (" +
+            "UPDATE accounts SET balance = balance + ?, version = version + 1 " +
+            "WHERE id = ? AND balance + ? >= 0 RETURNING id) " +
+            "INSERT INTO transactions (account_id, amount, transaction_type, description, transaction_date) " +
+            "SELECT id, ?, ?, ?, ? FROM adjusted " +
+            "RETURNING id";
 
-            ResultSet rs = pstmt.getGeneratedKeys();
-            rs.next();
-            int id = rs.getInt(1);
+    // Returns the new row's id, or null when nothing was written because the account does not have the funds or no
+    // longer exists
+    static Integer insertAndAdjust(Connection con, Transaction transaction) throws SQLException {
+        return insertAndAdjust(con.prepareStatement(INSERT_AND_ADJUST_SQL), transaction);
+    }
 
-            return new Transaction(id, transaction.getAccountId(), transaction.getAmount(), transaction.getType(), transaction.getDescription(), transaction.getDate());
+    // Tells the two reasons INSERT_AND_ADJUST_SQL writes nothing apart: an account deleted since the ownership check
+    // rather than one short of funds. It runs as a statement of its own so it sees a delete that committed while the
+    // insert was waiting on the row.
+    static boolean accountExists(Connection con, int accountId) throws SQLException {
+        try (PreparedStatement pstmt = con.prepareStatement("SELECT 1 FROM accounts WHERE id = ?")) {
+            pstmt.setInt(1, accountId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    // Binds and runs an already prepared INSERT_AND_ADJUST_SQL, so a caller posting many rows prepares it once
+    static Integer insertAndAdjust(PreparedStatement pstmt, Transaction transaction) throws SQLException {
+        int delta = signedAmount(transaction);
+        pstmt.setInt(1, delta);
+        pstmt.setInt(2, transaction.getAccountId());
+        pstmt.setInt(3, delta);
+        pstmt.setInt(4, transaction.getAmount());
+        pstmt.setString(5, transaction.getType());
+        pstmt.setString(6, transaction.getDescription());
+        pstmt.setDate(7, Date.valueOf(transaction.getDate()));
+
+        try (ResultSet rs = pstmt.executeQuery()) {
+            return rs.next() ? rs.getInt(1) : null;
         }
     }
 
-    public boolean deleteTransaction(int id, int accountId) throws SQLException {
+    // The batch moves each account's balance by its net amount, so a feed is only rejected when the chunk as a
+    // whole would overdraw an account, not when one withdrawal inside it runs ahead of a later deposit
+    public List<Integer> addTransactions(List<Transaction> transactions) throws SQLException, InsufficientFundsException {
         try (Connection con = ConnectionUtility.getConnection()) {
-            String sql = "DELETE FROM transactions WHERE id = ? AND account_id = ?";
+            return ConnectionUtility.runInTransaction(con, c -> {
+                String sql = "INSERT INTO transactions (account_id, amount, transaction_type, description, transaction_date) VALUES (?, ?, ?, ?, ?)";
+
+                PreparedStatement pstmt = c.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS);
+                for(Transaction transaction : transactions) {
+                    pstmt.setInt(1, transaction.getAccountId());
+                    pstmt.setInt(2, transaction.getAmount());
+                    pstmt.setString(3, transaction.getType());
+                    pstmt.setString(4, transaction.getDescription());
+                    pstmt.setDate(5, Date.valueOf(transaction.getDate()));
+                    pstmt.addBatch();
+                }
+
+                pstmt.executeBatch();
+
+                List<Integer> ids = new ArrayList<>(transactions.size());
+                ResultSet rs = pstmt.getGeneratedKeys();
+                while(rs.next()) {
+                    ids.add(rs.getInt(1));
+                }
+
+                Map<Integer, Integer> deltas = new LinkedHashMap<>();
+                for(Transaction transaction : transactions) {
+                    deltas.merge(transaction.getAccountId(), signedAmount(transaction), Integer::sum);
+                }
+
+                PreparedStatement adjust = c.prepareStatement("UPDATE accounts SET balance = balance + ?, version = version + 1 WHERE id = ? AND balance + ? >= 0");
+                for(Map.Entry<Integer, Integer> delta : deltas.entrySet()) {
+                    adjust.setInt(1, delta.getValue());
+                    adjust.setInt(2, delta.getKey());
+                    adjust.setInt(3, delta.getValue());
+                    if(adjust.executeUpdate() != 1) {
+                        throw new SQLException(new InsufficientFundsException("Account with id " + delta.getKey() + " has insufficient funds for this batch"));
+                    }
+                }
+
+                return ids;
+            });
+        } catch (SQLException e) {
+            if(e.getCause() instanceof InsufficientFundsException)
+                throw (InsufficientFundsException) e.getCause();
+            throw e;
+        }
+    }
+
+    // Removing a deposit can overdraw the account, in which case nothing is deleted
+    public boolean deleteTransaction(int id, int accountId) throws SQLException, InsufficientFundsException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            // The balance moves first and the row is only deleted when that succeeded, so a delete that would
+            // overdraw the account removes nothing even without a surrounding transaction
+            String sql = "WITH previous AS (" +
+                    "SELECT id, account_id, " + APPLIED_SIGNED_AMOUNT + " AS signed_amount " +
+                    "FROM transactions WHERE id = ? AND account_id = ? FOR UPDATE), " +
+                    "adjusted AS (" +
+                    "UPDATE accounts a SET balance = a.balance - p.signed_amount, version = a.version + 1 FROM previous p " +
+                    "WHERE a.id = p.account_id AND a.balance - p.signed_amount >= 0 RETURNING a.id), " +
+                    "removed AS (" +
+                    "DELETE FROM transactions t USING previous p, adjusted WHERE t.id = p.id RETURNING t.id) " +
+                    "SELECT (SELECT count(*) FROM previous) AS matched, (SELECT count(*) FROM removed) AS removed";
 
             PreparedStatement pstmt = con.prepareStatement(sql);
             pstmt.setInt(1, id);
             pstmt.setInt(2, accountId);
 
-            if(pstmt.executeUpdate() == 1)
-                return true;
+            ResultSet rs = pstmt.executeQuery();
+            rs.next();
+            if(rs.getInt("matched") == 0)
+                return false;
+
+            if(rs.getInt("removed") == 0) {
+                throw new InsufficientFundsException("Deleting transaction with id " + id + " would overdraw account with id " + accountId);
+            }
         }
 
-        return false;
+        return true;
     }
 
-    public boolean updateTransaction(Transaction transaction) throws SQLException {
+    // Same contract as AccountDao.updateAccount: a null expectedVersion updates unconditionally. The old row is
+    // locked first so two concurrent edits of one transaction cannot both apply their delta against the same amount.
+    public boolean updateTransaction(Transaction transaction, Integer expectedVersion) throws SQLException, PreconditionFailedException, InsufficientFundsException {
         try (Connection con = ConnectionUtility.getConnection()) {
-            String sql = "UPDATE transactions " +
-                    "SET amount = ?, " +
-                    "transaction_type = ?, " +
-                    "description = ?, " +
-                    "transaction_date = ? " +
-                    "WHERE id = ? AND account_id = ?";
+            String sql = "WITH previous AS (" +
+                    "SELECT id, account_id, " + APPLIED_SIGNED_AMOUNT + " AS signed_amount " +
+                    "FROM transactions WHERE id = ? AND account_id = ?" + (expectedVersion != null ? " AND version = ?" : "") + " FOR UPDATE), " +
+                    "adjusted AS (" +
+                    "UPDATE accounts a SET balance = a.balance + ? - p.signed_amount, version = a.version + 1 FROM previous p " +
+                    "WHERE a.id = p.account_id AND a.balance + ? - p.signed_amount >= 0 RETURNING a.id), " +
+                    "updated AS (" +
+                    "UPDATE transactions t SET amount = ?, transaction_type = ?, description = ?, transaction_date = ?, version = t.version + 1, balance_applied = true " +
+                    "FROM previous p, adjusted WHERE t.id = p.id RETURNING t.id) " +
+                    "SELECT (SELECT count(*) FROM previous) AS matched, (SELECT count(*) FROM updated) AS updated";
 
+            int delta = signedAmount(transaction);
             PreparedStatement pstmt = con.prepareStatement(sql);
-            pstmt.setInt(1, transaction.getAmount());
-            pstmt.setString(2, transaction.getType());
-            pstmt.setString(3, transaction.getDescription());
-            pstmt.setDate(4, Date.valueOf(transaction.getDate()));
-            pstmt.setInt(5, transaction.getId());
-            pstmt.setInt(6, transaction.getAccountId());
-
-            if(pstmt.executeUpdate() == 1)
+            int i = 1;
+            pstmt.setInt(i++, transaction.getId());
+            pstmt.setInt(i++, transaction.getAccountId());
+            if(expectedVersion != null)
+                pstmt.setInt(i++, expectedVersion);
+            pstmt.setInt(i++, delta);
+            pstmt.setInt(i++, delta);
+            pstmt.setInt(i++, transaction.getAmount());
+            pstmt.setString(i++, transaction.getType());
+            pstmt.setString(i++, transaction.getDescription());
+            pstmt.setDate(i, Date.valueOf(transaction.getDate()));
+
+            ResultSet rs = pstmt.executeQuery();
+            rs.next();
+            if(rs.getInt("updated") == 1)
                 return true;
+
+            if(rs.getInt("matched") == 1) {
+                throw new InsufficientFundsException("Updating transaction with id " + transaction.getId() + " would overdraw account with id " + transaction.getAccountId());
+            }
+
+            if(expectedVersion != null) {
+                PreparedStatement check = con.prepareStatement("SELECT version FROM transactions WHERE id = ? AND account_id = ?");
+                check.setInt(1, transaction.getId());
+                check.setInt(2, transaction.getAccountId());
+
+                ResultSet current = check.executeQuery();
+                if(current.next()) {
+                    throw new PreconditionFailedException("Transaction with id " + transaction.getId() + " is at version " + current.getInt("version") + ", not " + expectedVersion);
+                }
+            }
         }
 
         return false;
     }
+
+    private static int signedAmount(Transaction transaction) {
+        return "Deposit".equals(transaction.getType()) ? transaction.getAmount() : -transaction.getAmount();
+    }
+
+    // Reads the rows of a clients LEFT JOIN accounts LEFT JOIN transactions query, telling apart a missing
+    // client (no rows), a missing account (null account id) and an account without matching transactions.
+    private List<Transaction> readTransactions(ResultSet rs, int clientId, int accountId) throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        List<Transaction> transactions = new ArrayList<>();
+
+        if(!rs.next()) {
+            throw new ClientNotFoundException("Client with id " + clientId + " was not found");
+        }
+
+        rs.getInt("owner_account_id");
+        if(rs.wasNull()) {
+            throw new AccountNotFoundException("Account with id " + accountId + " was not found for client with id " + clientId);
+        }
+
+        do {
+            int id = rs.getInt("id");
+            if(rs.wasNull())
+                continue;
+
+            int amount = rs.getInt("amount");
+            String type = rs.getString("transaction_type");
+            String description = rs.getString("description");
+            String date = rs.getDate("transaction_date").toString();
+            int version = rs.getInt("version");
+            transactions.add(new Transaction(id, accountId, amount, type, description, date, version));
+        } while(rs.next());
+
+        return transactions;
+    }
 }
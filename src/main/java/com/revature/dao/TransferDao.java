@@ -0,0 +1,103 @@
+package com.revature.dao;
+
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.model.Transfer;
+import com.revature.utility.ConnectionUtility;
+
+import java.sql.*;
+import java.util.Map;
+
+public class TransferDao {
+
+    // Both account rows are locked up front in ascending id order. Two opposing transfers between the same pair
+    // therefore queue on the lower id instead of each holding one row and waiting on the other.
+    public Transfer transfer(Transfer transfer) throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        return transfer(transfer, null);
+    }
+
+    // afterLock runs on the transfer's connection once both rows are locked, and returns what it added to each
+    // account's balance. Hot accounts fold their pending deposits there, so the fold takes no lock of its own
+    // out of order and the balance check sees the folded amount. An account deleted since the ownership checks is
+    // missing from the locked rows and reported as not found, and nothing is written.
+    public Transfer transfer(Transfer transfer, ConnectionUtility.SqlWork<Map<Integer, Long>> afterLock) throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            return ConnectionUtility.runInTransaction(con, c -> {
+                PreparedStatement lock = c.prepareStatement("SELECT id, balance FROM accounts WHERE id IN (?, ?) ORDER BY id FOR UPDATE");
+                lock.setInt(1, transfer.getFromAccountId());
+                lock.setInt(2, transfer.getToAccountId());
+
+                ResultSet rs = lock.executeQuery();
+                long fromBalance = 0;
+                boolean fromLocked = false;
+                boolean toLocked = false;
+                while(rs.next()) {
+                    if(rs.getInt("id") == transfer.getFromAccountId()) {
+                        fromBalance = rs.getInt("balance");
+                        fromLocked = true;
+                    } else if(rs.getInt("id") == transfer.getToAccountId()) {
+                        toLocked = true;
+                    }
+                }
+
+                if(!fromLocked)
+                    throw accountNotFound(transfer.getFromAccountId());
+                if(!toLocked)
+                    throw accountNotFound(transfer.getToAccountId());
+
+                if(afterLock != null) {
+                    fromBalance += afterLock.execute(c).getOrDefault(transfer.getFromAccountId(), 0L);
+                }
+
+                if(fromBalance < transfer.getAmount()) {
+                    throw new SQLException(new InsufficientFundsException("Account with id " + transfer.getFromAccountId() + " has insufficient funds for a transfer of " + transfer.getAmount()));
+                }
+
+                PreparedStatement adjust = c.prepareStatement("UPDATE accounts " +
+                        "SET balance = balance + CASE WHEN id = ? THEN -? ELSE ? END, version = version + 1 " +
+                        "WHERE id IN (?, ?)");
+                adjust.setInt(1, transfer.getFromAccountId());
+                adjust.setInt(2, transfer.getAmount());
+                adjust.setInt(3, transfer.getAmount());
+                adjust.setInt(4, transfer.getFromAccountId());
+                adjust.setInt(5, transfer.getToAccountId());
+                // Both rows are locked, so this only guards against writing a one-sided transfer
+                if(adjust.executeUpdate() != 2) {
+                    throw new SQLException(AccountNotFoundException.withoutStackTrace("Account with id " +
+                            transfer.getFromAccountId() + " or " + transfer.getToAccountId() + " was not found"));
+                }
+
+                PreparedStatement insert = c.prepareStatement("INSERT INTO transactions (account_id, amount, transaction_type, description, transaction_date) " +
+                        "VALUES (?, ?, 'Withdrawal', ?, ?), (?, ?, 'Deposit', ?, ?) RETURNING id");
+                Date date = Date.valueOf(transfer.getDate());
+                insert.setInt(1, transfer.getFromAccountId());
+                insert.setInt(2, transfer.getAmount());
+                insert.setString(3, transfer.getDescription());
+                insert.setDate(4, date);
+                insert.setInt(5, transfer.getToAccountId());
+                insert.setInt(6, transfer.getAmount());
+                insert.setString(7, transfer.getDescription());
+                insert.setDate(8, date);
+
+                ResultSet ids = insert.executeQuery();
+                ids.next();
+                int withdrawalId = ids.getInt(1);
+                ids.next();
+                int depositId = ids.getInt(1);
+
+                return new Transfer(transfer.getFromAccountId(), transfer.getToAccountId(), transfer.getAmount(),
+                        transfer.getDescription(), transfer.getDate(), withdrawalId, depositId);
+            });
+        } catch (SQLException e) {
+            if(e.getCause() instanceof InsufficientFundsException)
+                throw (InsufficientFundsException) e.getCause();
+            if(e.getCause() instanceof AccountNotFoundException)
+                throw (AccountNotFoundException) e.getCause();
+            throw e;
+        }
+    }
+
+    private static SQLException accountNotFound(int accountId) {
+        return new SQLException(AccountNotFoundException.withoutStackTrace("Account with id " + accountId + " was not found"));
+    }
+}
@@ -20,4 +20,9 @@ public class AccountNotFoundException extends Exception {
     protected AccountNotFoundException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    // A missing id is an expected outcome rather than a bug, so the stack trace is not worth capturing
+    public static AccountNotFoundException withoutStackTrace(String message) {
+        return new AccountNotFoundException(message, null, false, false);
+    }
 }
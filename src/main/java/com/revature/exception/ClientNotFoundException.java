@@ -20,4 +20,9 @@ public class ClientNotFoundException extends Exception {
     protected ClientNotFoundException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    // A missing id is an expected outcome rather than a bug, so the stack trace is not worth capturing
+    public static ClientNotFoundException withoutStackTrace(String message) {
+        return new ClientNotFoundException(message, null, false, false);
+    }
 }
@@ -0,0 +1,23 @@
+package com.revature.exception;
+
+public class PreconditionFailedException extends Exception {
+    public PreconditionFailedException() {
+        super();
+    }
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+
+    public PreconditionFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public PreconditionFailedException(Throwable cause) {
+        super(cause);
+    }
+
+    protected PreconditionFailedException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,51 @@
+package com.revature.main;
+
+import com.revature.model.ImportReport;
+import com.revature.service.ChangeEvents;
+import com.revature.service.ImportService;
+import com.revature.utility.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+// Command line entry point for loading a branch: BulkImport clients clients.csv accounts accounts.csv ...
+// Files are imported in the order given, so list parents before the rows that reference them.
+public class BulkImport {
+
+    public static Logger logger = LoggerFactory.getLogger(BulkImport.class);
+
+    public static void main(String[] args) {
+        if (args.length == 0 || args.length % 2 != 0) {
+            System.err.println("Usage: BulkImport <clients|accounts|transactions> <file.csv> [<table> <file.csv> ...]");
+            System.exit(2);
+        }
+
+        // Each file commits on its own, and the running servers are told to drop their caches once it has
+        if (Settings.getBoolean("change_events_enabled", true)) {
+            ChangeEvents.startPublishing();
+        }
+
+        ImportService importService = new ImportService();
+
+        for (int i = 0; i < args.length; i += 2) {
+            String table = args[i];
+            Path file = Path.of(args[i + 1]);
+
+            try (Reader csv = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                ImportReport report = importService.importCsv(table, csv);
+                System.out.println(report.getTable() + ": " + report.getRowsMerged() + " rows merged, " +
+                        report.getRowsRejected() + " rejected, " + report.getRowsPerSecond() + " rows/sec");
+            } catch (IOException | SQLException | IllegalArgumentException e) {
+                logger.error("Import of " + file + " into " + table + " failed", e);
+                System.exit(1);
+            }
+        }
+    }
+
+}
@@ -1,26 +1,96 @@
 package com.revature.main;
 
 import com.revature.controller.*;
+import com.revature.dao.AccountOwnershipIndex;
+import com.revature.dao.CachingAccountDao;
+import com.revature.dao.CachingClientDao;
+import com.revature.dao.ExistenceFilter;
+import com.revature.service.ChangeEvents;
+import com.revature.service.GroupCommit;
+import com.revature.service.HotAccounts;
+import com.revature.service.ResourceVersions;
+import com.revature.utility.Json;
+import com.revature.utility.Settings;
+import com.revature.utility.UnitOfWork;
+import com.revature.utility.VirtualThreadPool;
 import io.javalin.Javalin;
+import io.javalin.plugin.json.JavalinJackson;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.sql.SQLException;
+
 public class Project0 {
 
     public static Logger logger = LoggerFactory.getLogger(Project0.class);
 
     public static void main(String[] args) {
-        Javalin app = Javalin.create();
+        try {
+            logger.info("Loaded " + AccountOwnershipIndex.load() + " accounts into the ownership index");
+        } catch (SQLException e) {
+            logger.error("Failed to load the account ownership index, ownership checks will query the database", e);
+        }
+        ExistenceFilter.startRebuilding();
+        HotAccounts.startFolding();
+        GroupCommit.start();
+        Idempotency.startPurging();
+
+        ChangeEvents.subscribe(CachingClientDao::onChange);
+        ChangeEvents.subscribe(CachingAccountDao::onChange);
+        ChangeEvents.subscribe(AccountOwnershipIndex::onChange);
+        ChangeEvents.subscribe(ExistenceFilter::onChange);
+        ChangeEvents.subscribe(ResponseCache::onChange);
+        ChangeEvents.subscribe(ResourceVersions::onChange);
+        if (Settings.getBoolean("change_events_enabled", true)) {
+            ChangeEvents.startListening();
+        }
+
+        Javalin app = Javalin.create(config -> {
+            config.server(Project0::createServer);
+            config.jsonMapper(new JavalinJackson(Json.mapper()));
+        });
 
         app.before(ctx -> {
             logger.info(ctx.method() + " request received for " + ctx.path());
+            UnitOfWork.begin();
         });
 
-        mapControllers(app, new ClientController(), new AccountController(), new TransactionController(), new ExceptionController());
+        app.after(ctx -> {
+            try {
+                UnitOfWork.end(ctx.status() < 400);
+            } catch (SQLException e) {
+                logger.error("Failed to complete the database transaction for " + ctx.path(), e);
+                ctx.status(500);
+                ctx.json("The request could not be completed");
+            }
+        });
+
+        mapControllers(app, new ClientController(), new AccountController(), new TransactionController(), new TransferController(), new AdminController(), new ExceptionController());
 
         app.start();
     }
 
+    // In virtual mode each request gets its own virtual thread and concurrency is bounded by the connection pool
+    // rather than by Jetty; platform mode keeps a fixed pool sized like Javalin's default
+    private static Server createServer() {
+        String mode = Settings.getString("server_thread_mode", "platform");
+        if (mode.equals("virtual")) {
+            if (VirtualThreadPool.isSupported()) {
+                logger.info("Serving requests on virtual threads");
+                return new Server(new VirtualThreadPool());
+            }
+            logger.warn("Virtual threads need Java 21 or later, falling back to the platform thread pool");
+        } else if (!mode.equals("platform")) {
+            throw new IllegalArgumentException("Environment variable server_thread_mode must be one of platform or virtual. Input was " + mode);
+        }
+
+        QueuedThreadPool pool = new QueuedThreadPool(Settings.getInt("server_max_threads", 250), Settings.getInt("server_min_threads", 8), 60000);
+        pool.setName("jetty-platform");
+        return new Server(pool);
+    }
+
     public static void mapControllers(Javalin app, Controller... controllers) {
         for(Controller c: controllers) {
             c.mapEndpoints(app);
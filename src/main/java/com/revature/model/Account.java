@@ -7,6 +7,7 @@ public class Account {
     private int clientId;
     private int balance;
     private String type;
+    private int version;
 
     public Account() {
     }
@@ -18,6 +19,11 @@ public class Account {
         this.type = type;
     }
 
+    public Account(int id, int clientId, int balance, String type, int version) {
+        this(id, clientId, balance, type);
+        this.version = version;
+    }
+
     public int getId() {
         return id;
     }
@@ -50,17 +56,25 @@ public class Account {
         this.type = type;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Account account = (Account) o;
-        return id == account.id && clientId == account.clientId && balance == account.balance && Objects.equals(type, account.type);
+        return id == account.id && clientId == account.clientId && balance == account.balance && version == account.version && Objects.equals(type, account.type);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, clientId, balance, type);
+        return Objects.hash(id, clientId, balance, type, version);
     }
 
     @Override
@@ -70,6 +84,7 @@ public class Account {
                 ", clientId=" + clientId +
                 ", balance=" + balance +
                 ", type='" + type + '\'' +
+                ", version=" + version +
                 '}';
     }
 }
@@ -0,0 +1,65 @@
+package com.revature.model;
+
+import java.util.List;
+import java.util.Objects;
+
+public class AccountOverview {
+    private Account account;
+    private List<Transaction> recentTransactions;
+    private boolean transactionsUnavailable;
+
+    public AccountOverview() {
+    }
+
+    public AccountOverview(Account account, List<Transaction> recentTransactions, boolean transactionsUnavailable) {
+        this.account = account;
+        this.recentTransactions = recentTransactions;
+        this.transactionsUnavailable = transactionsUnavailable;
+    }
+
+    public Account getAccount() {
+        return account;
+    }
+
+    public void setAccount(Account account) {
+        this.account = account;
+    }
+
+    public List<Transaction> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(List<Transaction> recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
+
+    public boolean isTransactionsUnavailable() {
+        return transactionsUnavailable;
+    }
+
+    public void setTransactionsUnavailable(boolean transactionsUnavailable) {
+        this.transactionsUnavailable = transactionsUnavailable;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        AccountOverview that = (AccountOverview) o;
+        return transactionsUnavailable == that.transactionsUnavailable && Objects.equals(account, that.account) && Objects.equals(recentTransactions, that.recentTransactions);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(account, recentTransactions, transactionsUnavailable);
+    }
+
+    @Override
+    public String toString() {
+        return "AccountOverview{" +
+                "account=" + account +
+                ", recentTransactions=" + recentTransactions +
+                ", transactionsUnavailable=" + transactionsUnavailable +
+                '}';
+    }
+}
@@ -0,0 +1,91 @@
+package com.revature.model;
+
+import java.util.Objects;
+
+public class ChangeEvent {
+
+    public enum Entity { CLIENT, ACCOUNT, TRANSACTION, ALL }
+
+    public enum Action { CREATED, UPDATED, DELETED }
+
+    private Entity entity;
+    private Action action;
+    private int clientId;
+    private int accountId;
+    private int id;
+
+    public ChangeEvent() {
+    }
+
+    public ChangeEvent(Entity entity, Action action, int clientId, int accountId, int id) {
+        this.entity = entity;
+        this.action = action;
+        this.clientId = clientId;
+        this.accountId = accountId;
+        this.id = id;
+    }
+
+    public Entity getEntity() {
+        return entity;
+    }
+
+    public void setEntity(Entity entity) {
+        this.entity = entity;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public void setAction(Action action) {
+        this.action = action;
+    }
+
+    public int getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(int clientId) {
+        this.clientId = clientId;
+    }
+
+    public int getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(int accountId) {
+        this.accountId = accountId;
+    }
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ChangeEvent that = (ChangeEvent) o;
+        return clientId == that.clientId && accountId == that.accountId && id == that.id && entity == that.entity && action == that.action;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(entity, action, clientId, accountId, id);
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeEvent{" +
+                "entity=" + entity +
+                ", action=" + action +
+                ", clientId=" + clientId +
+                ", accountId=" + accountId +
+                ", id=" + id +
+                '}';
+    }
+}
@@ -0,0 +1,65 @@
+package com.revature.model;
+
+import java.util.List;
+import java.util.Objects;
+
+public class ClientOverview {
+    private Client client;
+    private List<AccountOverview> accounts;
+    private boolean complete;
+
+    public ClientOverview() {
+    }
+
+    public ClientOverview(Client client, List<AccountOverview> accounts, boolean complete) {
+        this.client = client;
+        this.accounts = accounts;
+        this.complete = complete;
+    }
+
+    public Client getClient() {
+        return client;
+    }
+
+    public void setClient(Client client) {
+        this.client = client;
+    }
+
+    public List<AccountOverview> getAccounts() {
+        return accounts;
+    }
+
+    public void setAccounts(List<AccountOverview> accounts) {
+        this.accounts = accounts;
+    }
+
+    public boolean isComplete() {
+        return complete;
+    }
+
+    public void setComplete(boolean complete) {
+        this.complete = complete;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ClientOverview that = (ClientOverview) o;
+        return complete == that.complete && Objects.equals(client, that.client) && Objects.equals(accounts, that.accounts);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(client, accounts, complete);
+    }
+
+    @Override
+    public String toString() {
+        return "ClientOverview{" +
+                "client=" + client +
+                ", accounts=" + accounts +
+                ", complete=" + complete +
+                '}';
+    }
+}
@@ -0,0 +1,64 @@
+package com.revature.model;
+
+import java.util.Objects;
+
+public class FoldedDeposits {
+    private int accountId;
+    private int clientId;
+    private long amount;
+
+    public FoldedDeposits() {
+    }
+
+    public FoldedDeposits(int accountId, int clientId, long amount) {
+        this.accountId = accountId;
+        this.clientId = clientId;
+        this.amount = amount;
+    }
+
+    public int getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(int accountId) {
+        this.accountId = accountId;
+    }
+
+    public int getClientId() {
+        return clientId;
+    }
+
+    public void setClientId(int clientId) {
+        this.clientId = clientId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        FoldedDeposits that = (FoldedDeposits) o;
+        return accountId == that.accountId && clientId == that.clientId && amount == that.amount;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(accountId, clientId, amount);
+    }
+
+    @Override
+    public String toString() {
+        return "FoldedDeposits{" +
+                "accountId=" + accountId +
+                ", clientId=" + clientId +
+                ", amount=" + amount +
+                '}';
+    }
+}
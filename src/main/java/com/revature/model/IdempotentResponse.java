@@ -0,0 +1,67 @@
+package com.revature.model;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+public class IdempotentResponse {
+    private int status;
+    private String contentType;
+    private byte[] body;
+
+    public IdempotentResponse() {
+    }
+
+    public IdempotentResponse(int status, String contentType, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public void setBody(byte[] body) {
+        this.body = body;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IdempotentResponse that = (IdempotentResponse) o;
+        return status == that.status && Objects.equals(contentType, that.contentType) && Arrays.equals(body, that.body);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Objects.hash(status, contentType);
+        result = 31 * result + Arrays.hashCode(body);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "IdempotentResponse{" +
+                "status=" + status +
+                ", contentType='" + contentType + '\'' +
+                ", body=" + (body == null ? 0 : body.length) + " bytes" +
+                '}';
+    }
+}
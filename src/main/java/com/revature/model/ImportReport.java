@@ -0,0 +1,97 @@
+package com.revature.model;
+
+import java.util.Objects;
+
+public class ImportReport {
+    private String table;
+    private long rowsLoaded;
+    private long rowsMerged;
+    private long rowsRejected;
+    private long elapsedMillis;
+    private long rowsPerSecond;
+
+    public ImportReport() {
+    }
+
+    public ImportReport(String table, long rowsLoaded, long rowsMerged, long elapsedMillis) {
+        this.table = table;
+        this.rowsLoaded = rowsLoaded;
+        this.rowsMerged = rowsMerged;
+        this.rowsRejected = rowsLoaded - rowsMerged;
+        this.elapsedMillis = elapsedMillis;
+        this.rowsPerSecond = elapsedMillis > 0 ? rowsLoaded * 1000 / elapsedMillis : rowsLoaded;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public void setTable(String table) {
+        this.table = table;
+    }
+
+    public long getRowsLoaded() {
+        return rowsLoaded;
+    }
+
+    public void setRowsLoaded(long rowsLoaded) {
+        this.rowsLoaded = rowsLoaded;
+    }
+
+    public long getRowsMerged() {
+        return rowsMerged;
+    }
+
+    public void setRowsMerged(long rowsMerged) {
+        this.rowsMerged = rowsMerged;
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected;
+    }
+
+    public void setRowsRejected(long rowsRejected) {
+        this.rowsRejected = rowsRejected;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    public long getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(long rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ImportReport that = (ImportReport) o;
+        return rowsLoaded == that.rowsLoaded && rowsMerged == that.rowsMerged && rowsRejected == that.rowsRejected && elapsedMillis == that.elapsedMillis && rowsPerSecond == that.rowsPerSecond && Objects.equals(table, that.table);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(table, rowsLoaded, rowsMerged, rowsRejected, elapsedMillis, rowsPerSecond);
+    }
+
+    @Override
+    public String toString() {
+        return "ImportReport{" +
+                "table='" + table + '\'' +
+                ", rowsLoaded=" + rowsLoaded +
+                ", rowsMerged=" + rowsMerged +
+                ", rowsRejected=" + rowsRejected +
+                ", elapsedMillis=" + elapsedMillis +
+                ", rowsPerSecond=" + rowsPerSecond +
+                '}';
+    }
+}
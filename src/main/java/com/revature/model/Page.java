@@ -0,0 +1,65 @@
+package com.revature.model;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+public class Page<T> {
+    private List<T> items;
+    private Integer nextCursor;
+
+    public Page() {
+    }
+
+    public Page(List<T> items, Integer nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Builds a page from a query that fetched one row more than the limit to find out whether another page exists
+    public static <T> Page<T> fromLookahead(List<T> rows, int limit, ToIntFunction<T> idOf) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+
+        List<T> items = rows.subList(0, limit);
+        return new Page<>(items, idOf.applyAsInt(items.get(limit - 1)));
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Integer getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Integer nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Page<?> page = (Page<?>) o;
+        return Objects.equals(items, page.items) && Objects.equals(nextCursor, page.nextCursor);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(items, nextCursor);
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+                "items=" + items +
+                ", nextCursor=" + nextCursor +
+                '}';
+    }
+}
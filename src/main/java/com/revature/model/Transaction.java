@@ -9,6 +9,7 @@ public class Transaction {
     private String type;
     private String description;
     private String date;
+    private int version;
 
     public Transaction() {
     }
@@ -22,6 +23,11 @@ public class Transaction {
         this.date = date;
     }
 
+    public Transaction(int id, int accountId, int amount, String type, String description, String date, int version) {
+        this(id, accountId, amount, type, description, date);
+        this.version = version;
+    }
+
     public int getId() {
         return id;
     }
@@ -70,17 +76,25 @@ public class Transaction {
         this.date = date;
     }
 
+    public int getVersion() {
+        return version;
+    }
+
+    public void setVersion(int version) {
+        this.version = version;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Transaction that = (Transaction) o;
-        return id == that.id && accountId == that.accountId && amount == that.amount && Objects.equals(type, that.type) && Objects.equals(description, that.description) && Objects.equals(date, that.date);
+        return id == that.id && accountId == that.accountId && amount == that.amount && version == that.version && Objects.equals(type, that.type) && Objects.equals(description, that.description) && Objects.equals(date, that.date);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, accountId, amount, type, description, date);
+        return Objects.hash(id, accountId, amount, type, description, date, version);
     }
 
     @Override
@@ -92,6 +106,7 @@ public class Transaction {
                 ", type='" + type + '\'' +
                 ", description='" + description + '\'' +
                 ", date=" + date +
+                ", version=" + version +
                 '}';
     }
 }
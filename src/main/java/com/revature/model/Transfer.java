@@ -0,0 +1,112 @@
+package com.revature.model;
+
+import java.util.Objects;
+
+public class Transfer {
+    private int fromAccountId;
+    private int toAccountId;
+    private int amount;
+    private String description;
+    private String date;
+    private int withdrawalId;
+    private int depositId;
+
+    public Transfer() {
+    }
+
+    public Transfer(int fromAccountId, int toAccountId, int amount, String description, String date) {
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.description = description;
+        this.date = date;
+    }
+
+    public Transfer(int fromAccountId, int toAccountId, int amount, String description, String date, int withdrawalId, int depositId) {
+        this(fromAccountId, toAccountId, amount, description, date);
+        this.withdrawalId = withdrawalId;
+        this.depositId = depositId;
+    }
+
+    public int getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(int fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public int getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(int toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public int getAmount() {
+        return amount;
+    }
+
+    public void setAmount(int amount) {
+        this.amount = amount;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public int getWithdrawalId() {
+        return withdrawalId;
+    }
+
+    public void setWithdrawalId(int withdrawalId) {
+        this.withdrawalId = withdrawalId;
+    }
+
+    public int getDepositId() {
+        return depositId;
+    }
+
+    public void setDepositId(int depositId) {
+        this.depositId = depositId;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Transfer transfer = (Transfer) o;
+        return fromAccountId == transfer.fromAccountId && toAccountId == transfer.toAccountId && amount == transfer.amount && withdrawalId == transfer.withdrawalId && depositId == transfer.depositId && Objects.equals(description, transfer.description) && Objects.equals(date, transfer.date);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fromAccountId, toAccountId, amount, description, date, withdrawalId, depositId);
+    }
+
+    @Override
+    public String toString() {
+        return "Transfer{" +
+                "fromAccountId=" + fromAccountId +
+                ", toAccountId=" + toAccountId +
+                ", amount=" + amount +
+                ", description='" + description + '\'' +
+                ", date=" + date +
+                ", withdrawalId=" + withdrawalId +
+                ", depositId=" + depositId +
+                '}';
+    }
+}
@@ -1,15 +1,28 @@
 package com.revature.service;
 
 import com.revature.dao.AccountDao;
+import com.revature.dao.AsyncAccountDao;
+import com.revature.dao.CachingAccountDao;
+import com.revature.dao.CachingClientDao;
 import com.revature.dao.ClientDao;
 import com.revature.exception.AccountNotFoundException;
 import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.PreconditionFailedException;
 import com.revature.model.Account;
+import com.revature.model.ChangeEvent;
+import com.revature.model.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.IntPredicate;
 
 
 public class AccountService {
@@ -18,29 +31,55 @@ public class AccountService {
 
     private ClientDao clientDao;
     private AccountDao accountDao;
+    private AsyncAccountDao asyncAccountDao;
 
     public AccountService() {
-        clientDao = new ClientDao();
-        accountDao = new AccountDao();
+        clientDao = new CachingClientDao();
+        accountDao = new CachingAccountDao();
+        asyncAccountDao = new AsyncAccountDao(accountDao);
     }
 
     public AccountService(ClientDao mockClientDao, AccountDao mockAccountDao) {
         clientDao = mockClientDao;
         accountDao = mockAccountDao;
+        asyncAccountDao = new AsyncAccountDao(accountDao);
     }
 
     public Account getAccount(String idString, String clientIdString) throws SQLException, ClientNotFoundException, AccountNotFoundException {
         logger.info("getAccount method called");
         try {
-            int clientId = checkForClient(clientIdString);
+            int clientId = Integer.parseInt(clientIdString);
             int id = Integer.parseInt(idString);
 
             Account a = accountDao.getAccount(id, clientId);
             if (a == null) {
-                throw new AccountNotFoundException("Account with id " + id + " was not found for client with id " + clientId);
+                throw AccountNotFoundException.withoutStackTrace("Account with id " + id + " was not found for client with id " + clientId);
             }
 
-            return a;
+            return withPendingDeposits(a);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
+        }
+    }
+
+    public CompletableFuture<Account> getAccountAsync(String idString, String clientIdString) {
+        logger.info("getAccountAsync method called");
+        try {
+            int clientId = Integer.parseInt(clientIdString);
+            int id = Integer.parseInt(idString);
+
+            return asyncAccountDao.getAccount(id, clientId).thenApply(a -> {
+                if (a == null) {
+                    throw new CompletionException(AccountNotFoundException.withoutStackTrace("Account with id " + id + " was not found for client with id " + clientId));
+                }
+
+                // Still on the database executor, so the extra lookup for a hot account blocks that thread, not the request's
+                try {
+                    return withPendingDeposits(a);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            });
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
         }
@@ -49,9 +88,9 @@ public class AccountService {
     public List<Account> getAccounts(String clientIdString) throws SQLException, ClientNotFoundException {
         logger.info("getAccounts method called");
         try {
-            int clientId = checkForClient(clientIdString);
+            int clientId = Integer.parseInt(clientIdString);
 
-            return accountDao.getAccounts(clientId);
+            return withPendingDeposits(accountDao.getAccounts(clientId));
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Id provided for client must be a valid int");
         }
@@ -60,9 +99,14 @@ public class AccountService {
     public List<Account> getAccounts(String clientIdString, String balanceBoundString, boolean upperBound) throws SQLException, ClientNotFoundException {
         logger.info("getAccounts method called");
         try {
-            int clientId = checkForClient(clientIdString);
+            int clientId = Integer.parseInt(clientIdString);
             int balanceBound = Integer.parseInt(balanceBoundString);
 
+            if (HotAccounts.isEnabled()) {
+                return filterByBalance(withPendingDeposits(accountDao.getAccounts(clientId)),
+                        balance -> upperBound ? balance < balanceBound : balance > balanceBound);
+            }
+
             return accountDao.getAccounts(clientId, balanceBound, upperBound);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Client id and balance params must be valid ints");
@@ -72,16 +116,34 @@ public class AccountService {
     public List<Account> getAccounts(String clientIdString, String balanceLowerBoundString, String balanceUpperBoundString) throws SQLException, ClientNotFoundException {
         logger.info("getAccounts method called");
         try {
-            int clientId = checkForClient(clientIdString);
+            int clientId = Integer.parseInt(clientIdString);
             int balanceLowerBound = Integer.parseInt(balanceLowerBoundString);
             int balanceUpperBound = Integer.parseInt(balanceUpperBoundString);
 
+            if (HotAccounts.isEnabled()) {
+                return filterByBalance(withPendingDeposits(accountDao.getAccounts(clientId)),
+                        balance -> balance > balanceLowerBound && balance < balanceUpperBound);
+            }
+
             return accountDao.getAccounts(clientId, balanceLowerBound, balanceUpperBound);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Client id and balance params must be valid ints");
         }
     }
 
+    public Page<Account> getAccountsPage(String clientIdString, String afterString, String limitString) throws SQLException, ClientNotFoundException {
+        logger.info("getAccountsPage method called");
+        try {
+            int clientId = Integer.parseInt(clientIdString);
+            int after = Pagination.parseAfter(afterString);
+            int limit = Pagination.parseLimit(limitString);
+
+            return Page.fromLookahead(withPendingDeposits(accountDao.getAccountsAfter(clientId, after, limit + 1)), limit, Account::getId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Id provided for client must be a valid int");
+        }
+    }
+
     public Account addAccount(String clientIdString, Account a) throws SQLException, ClientNotFoundException {
         logger.info("addAccount method called");
         try {
@@ -90,26 +152,36 @@ public class AccountService {
             validateAccountInformation(a);
 
             a.setClientId(clientId);
-            return accountDao.addAccount(a);
+            Account added = accountDao.addAccount(a);
+
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.CREATED, clientId, added.getId(), added.getId()));
+            return added;
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Id provided for client must be a valid int");
         }
 
     }
 
-    public void updateAccount(String idString, String clientIdString, Account a) throws SQLException, ClientNotFoundException, AccountNotFoundException {
+    public void updateAccount(String idString, String clientIdString, Account a, String ifMatch) throws SQLException, ClientNotFoundException, AccountNotFoundException, PreconditionFailedException {
         logger.info("updateAccount method called");
         try {
             int clientId = checkForClient(clientIdString);
             int id = Integer.parseInt(idString);
+            Integer expectedVersion = Preconditions.parseIfMatch(ifMatch);
 
             validateAccountInformation(a);
 
             a.setId(id);
             a.setClientId(clientId);
-            if (!accountDao.updateAccount(a)) {
+            // The new balance replaces everything, including deposits still pending on a hot account
+            if (HotAccounts.isHot(id)) {
+                HotAccounts.fold(id);
+            }
+            if (!accountDao.updateAccount(a, expectedVersion)) {
                 throw new AccountNotFoundException("Account with id " + id + " was not found for client with id " + clientId);
             }
+
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.UPDATED, clientId, id, id));
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
         }
@@ -123,11 +195,62 @@ public class AccountService {
             if (!accountDao.deleteAccount(id, clientId)) {
                 throw new AccountNotFoundException("Account with id " + id + " was not found for client with id " + clientId);
             }
+
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.DELETED, clientId, id, id));
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
         }
     }
 
+    // Balances filtered in SQL only see the folded part of a hot account's balance, so with hot accounts configured
+    // the balance filters run here, after the pending deposits are added
+    static List<Account> filterByBalance(List<Account> accounts, IntPredicate matches) {
+        List<Account> filtered = new ArrayList<>(accounts.size());
+        for (Account a : accounts) {
+            if (matches.test(a.getBalance())) {
+                filtered.add(a);
+            }
+        }
+
+        return filtered;
+    }
+
+    private static Account withPendingDeposits(Account a) throws SQLException {
+        withPendingDeposits(Collections.singletonList(a));
+        return a;
+    }
+
+    // A hot account's balance and version are replaced with a fresh read that includes its pending deposits. The
+    // pending sum is never added to the balance already in hand, which may be cached from before a fold. All the
+    // hot accounts in the list share one query.
+    static List<Account> withPendingDeposits(List<Account> accounts) throws SQLException {
+        List<Integer> hotIds = new ArrayList<>();
+        for (Account a : accounts) {
+            if (HotAccounts.isHot(a.getId())) {
+                hotIds.add(a.getId());
+            }
+        }
+
+        if (hotIds.isEmpty()) {
+            return accounts;
+        }
+
+        Map<Integer, Account> current = new HashMap<>();
+        for (Account a : HotAccounts.getAccountsWithPending(hotIds.toArray(new Integer[0]))) {
+            current.put(a.getId(), a);
+        }
+
+        for (Account a : accounts) {
+            Account fresh = current.get(a.getId());
+            if (fresh != null) {
+                a.setBalance(fresh.getBalance());
+                a.setVersion(fresh.getVersion());
+            }
+        }
+
+        return accounts;
+    }
+
     private int checkForClient(String clientIdString) throws SQLException, ClientNotFoundException {
         int clientId = Integer.parseInt(clientIdString);
 
@@ -0,0 +1,125 @@
+package com.revature.service;
+
+import com.revature.dao.ChangeEventDao;
+import com.revature.model.ChangeEvent;
+import com.revature.utility.Settings;
+import com.revature.utility.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// Fans write events out to in-process listeners once the write commits and, after startListening(), to every
+// other node through Postgres NOTIFY. Subscribers only need to be idempotent: a node sees its own events once
+// locally, and an ALL event tells them to drop everything after the listener lost its connection.
+public class ChangeEvents {
+
+    private static Logger logger = LoggerFactory.getLogger(ChangeEvents.class);
+
+    private static final String NODE_ID = UUID.randomUUID().toString();
+    private static final List<Consumer<ChangeEvent>> listeners = new CopyOnWriteArrayList<>();
+
+    private static volatile ChangeEventDao remote;
+
+    private ChangeEvents() {
+    }
+
+    public static void subscribe(Consumer<ChangeEvent> listener) {
+        listeners.add(listener);
+    }
+
+    public static void publish(ChangeEvent event) throws SQLException {
+        ChangeEventDao dao = remote;
+        if (dao != null) {
+            dao.publish(encode(event));
+        }
+
+        UnitOfWork.afterCommit(() -> dispatch(event));
+    }
+
+    // For processes that write but keep no caches, like BulkImport: their events reach the other nodes over
+    // NOTIFY, and nothing is received back
+    public static void startPublishing() {
+        remote = new ChangeEventDao();
+    }
+
+    public static void startListening() {
+        ChangeEventDao dao = new ChangeEventDao();
+        int pollMillis = Settings.getInt("change_events_poll_ms", 500);
+        int retryMillis = Settings.getInt("change_events_retry_ms", 5000);
+
+        Thread listener = new Thread(() -> {
+            boolean[] connectedBefore = {false};
+            while (!Thread.currentThread().isInterrupted()) {
+                try {
+                    dao.listen(pollMillis, () -> {
+                        // Anything published while we were disconnected is lost, so start over from the database
+                        if (connectedBefore[0]) {
+                            dispatch(new ChangeEvent(ChangeEvent.Entity.ALL, ChangeEvent.Action.UPDATED, 0, 0, 0));
+                        }
+                        connectedBefore[0] = true;
+                        logger.info("Listening for change events from other nodes");
+                    }, payload -> {
+                        ChangeEvent event = decode(payload);
+                        if (event != null) {
+                            dispatch(event);
+                        }
+                    });
+                } catch (SQLException e) {
+                    logger.error("Change event listener lost its connection, retrying in " + retryMillis + "ms", e);
+                }
+
+                try {
+                    Thread.sleep(retryMillis);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }, "change-event-listener");
+        listener.setDaemon(true);
+        listener.start();
+
+        remote = dao;
+    }
+
+    static void dispatch(ChangeEvent event) {
+        for (Consumer<ChangeEvent> listener : listeners) {
+            try {
+                listener.accept(event);
+            } catch (RuntimeException e) {
+                logger.error("Change event listener failed for " + event, e);
+            }
+        }
+    }
+
+    static String encode(ChangeEvent event) {
+        return NODE_ID + " " + event.getEntity() + " " + event.getAction() + " " +
+                event.getClientId() + " " + event.getAccountId() + " " + event.getId();
+    }
+
+    // Returns null for events this node published itself, which were already dispatched locally
+    static ChangeEvent decode(String payload) {
+        String[] parts = payload.split(" ");
+        if (parts.length != 6) {
+            logger.warn("Ignoring malformed change event: " + payload);
+            return null;
+        }
+
+        if (parts[0].equals(NODE_ID)) {
+            return null;
+        }
+
+        try {
+            return new ChangeEvent(ChangeEvent.Entity.valueOf(parts[1]), ChangeEvent.Action.valueOf(parts[2]),
+                    Integer.parseInt(parts[3]), Integer.parseInt(parts[4]), Integer.parseInt(parts[5]));
+        } catch (IllegalArgumentException e) {
+            logger.warn("Ignoring malformed change event: " + payload);
+            return null;
+        }
+    }
+
+}
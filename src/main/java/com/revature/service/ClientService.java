@@ -1,26 +1,35 @@
 package com.revature.service;
 
+import com.revature.dao.AsyncClientDao;
+import com.revature.dao.CachingClientDao;
 import com.revature.dao.ClientDao;
 import com.revature.exception.ClientNotFoundException;
+import com.revature.model.ChangeEvent;
 import com.revature.model.Client;
+import com.revature.model.Page;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class ClientService {
 
     private static Logger logger = LoggerFactory.getLogger(ClientService.class);
 
     private ClientDao clientDao;
+    private AsyncClientDao asyncClientDao;
 
     public ClientService() {
-        clientDao = new ClientDao();
+        clientDao = new CachingClientDao();
+        asyncClientDao = new AsyncClientDao(clientDao);
     }
 
     public ClientService(ClientDao mockDao) {
         clientDao = mockDao;
+        asyncClientDao = new AsyncClientDao(clientDao);
     }
 
     public List<Client> getClients() throws SQLException {
@@ -28,6 +37,14 @@ public class ClientService {
         return clientDao.getClients();
     }
 
+    public Page<Client> getClients(String afterString, String limitString) throws SQLException {
+        logger.info("getClients method called with pagination");
+        int after = Pagination.parseAfter(afterString);
+        int limit = Pagination.parseLimit(limitString);
+
+        return Page.fromLookahead(clientDao.getClientsAfter(after, limit + 1), limit, Client::getId);
+    }
+
     public Client getClient(String idString) throws SQLException, ClientNotFoundException {
         logger.info("getClient method called");
         try {
@@ -35,7 +52,7 @@ public class ClientService {
 
             Client c = clientDao.getClient(id);
             if(c == null) {
-                throw new ClientNotFoundException("Client with id " + id + " was not found");
+                throw ClientNotFoundException.withoutStackTrace("Client with id " + id + " was not found");
             }
 
             return c;
@@ -44,10 +61,31 @@ public class ClientService {
         }
     }
 
+    // Invalid ids are rejected before anything is queued; a missing client completes the future exceptionally
+    public CompletableFuture<Client> getClientAsync(String idString) {
+        logger.info("getClientAsync method called");
+        try {
+            int id = Integer.parseInt(idString);
+
+            return asyncClientDao.getClient(id).thenApply(c -> {
+                if(c == null) {
+                    throw new CompletionException(ClientNotFoundException.withoutStackTrace("Client with id " + id + " was not found"));
+                }
+
+                return c;
+            });
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Id provided for client must be a valid int");
+        }
+    }
+
     public Client addClient(Client c) throws SQLException {
         logger.info("addClient method called");
         validateClientInformation(c);
-        return clientDao.addClient(c);
+
+        Client added = clientDao.addClient(c);
+        ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.CLIENT, ChangeEvent.Action.CREATED, added.getId(), 0, added.getId()));
+        return added;
     }
 
     public void updateClient(String idString, Client c) throws SQLException, ClientNotFoundException {
@@ -61,6 +99,8 @@ public class ClientService {
             if(!clientDao.updateClient(c)) {
                 throw new ClientNotFoundException("Client with id " + id + " was not found");
             }
+
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.CLIENT, ChangeEvent.Action.UPDATED, id, 0, id));
         } catch(NumberFormatException e) {
             throw new IllegalArgumentException("Id provided for student must be a valid int");
         }
@@ -74,6 +114,8 @@ public class ClientService {
             if(!clientDao.deleteClient(id)) {
                 throw new ClientNotFoundException("Client with id " + id + " was not found");
             }
+
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.CLIENT, ChangeEvent.Action.DELETED, id, 0, id));
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Id provided for client must be a valid int");
         }
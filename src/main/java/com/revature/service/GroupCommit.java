@@ -0,0 +1,266 @@
+package com.revature.service;
+
+import com.revature.dao.GroupCommitDao;
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.model.Transaction;
+import com.revature.utility.Settings;
+import com.revature.utility.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Optional write-behind for single transaction inserts, enabled with group_commit_enabled. Request threads enqueue
+// their transaction and wait; one writer wakes every group_commit_window_ms, inserts everything queued in a single
+// database transaction on its own connection and hands each request its id, so a burst of deposits pays for one
+// commit instead of one each. The writer's commit is not the request's, so requests that have already written
+// through their unit of work (an Idempotency-Key claim, for instance) insert on their own connection instead, as
+// does a request that finds the queue full.
+public class GroupCommit {
+
+    private static Logger logger = LoggerFactory.getLogger(GroupCommit.class);
+
+    private static final GroupCommit shared = new GroupCommit(new GroupCommitDao(),
+            Settings.getInt("group_commit_window_ms", 5),
+            Settings.getInt("group_commit_max_batch", 256),
+            Settings.getInt("group_commit_queue_size", 4096),
+            Settings.getInt("group_commit_timeout_ms", 30000));
+
+    private final GroupCommitDao groupCommitDao;
+    private final long windowNanos;
+    private final int maxBatch;
+    private final int capacity;
+    private final long timeoutMillis;
+
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder rejectedWhenFull = new LongAdder();
+    private final LongAdder batchFailures = new LongAdder();
+
+    private volatile Thread writer;
+
+    GroupCommit(GroupCommitDao groupCommitDao, long windowMillis, int maxBatch, int capacity, long timeoutMillis) {
+        this.groupCommitDao = groupCommitDao;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.maxBatch = maxBatch;
+        this.capacity = capacity;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    // Completes requests still queued when the writer stops, which then insert on their own connection
+    private static class WriterStoppedException extends RuntimeException {
+        private WriterStoppedException() {
+            super("The group commit writer stopped", null, false, false);
+        }
+    }
+
+    private static class Pending {
+        private final Transaction transaction;
+        private final CompletableFuture<Integer> id = new CompletableFuture<>();
+
+        private Pending(Transaction transaction) {
+            this.transaction = transaction;
+        }
+    }
+
+    public static void start() {
+        if (!Settings.getBoolean("group_commit_enabled", false)) {
+            return;
+        }
+
+        shared.startWriter();
+        logger.info("Group commit enabled with a " + TimeUnit.NANOSECONDS.toMillis(shared.windowNanos) + "ms window");
+    }
+
+    // Returns null when group commit is off, the request already has a transaction open, the queue is full or the
+    // writer stopped before getting to it, and the caller should insert the transaction itself
+    static Transaction submit(Transaction t) throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        return shared.enqueue(t);
+    }
+
+    public static Map<String, Object> stats() {
+        return shared.statistics();
+    }
+
+    void startWriter() {
+        Thread t = new Thread(this::run, "group-commit-writer");
+        t.setDaemon(true);
+        writer = t;
+        t.start();
+    }
+
+    // Anything still queued is handed back to its request rather than left to time out
+    void stopWriter() {
+        Thread t = writer;
+        writer = null;
+        if (t != null) {
+            t.interrupt();
+        }
+
+        Pending pending;
+        while ((pending = queue.poll()) != null) {
+            queued.decrementAndGet();
+            pending.id.completeExceptionally(new WriterStoppedException());
+        }
+    }
+
+    Transaction enqueue(Transaction t) throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        Thread w = writer;
+        if (w == null || UnitOfWork.inTransaction()) {
+            return null;
+        }
+
+        if (queued.incrementAndGet() > capacity) {
+            queued.decrementAndGet();
+            rejectedWhenFull.increment();
+            return null;
+        }
+
+        Pending pending = new Pending(t);
+        queue.add(pending);
+        if (writer == null && queue.remove(pending)) {
+            // The writer stopped after it was read above and may already have drained the queue
+            queued.decrementAndGet();
+            return null;
+        }
+        if (queued.get() >= maxBatch) {
+            LockSupport.unpark(w);
+        }
+
+        Integer id;
+        try {
+            id = await(pending);
+        } catch (WriterStoppedException e) {
+            return null;
+        }
+        if (id == null) {
+            throw new InsufficientFundsException("Account with id " + t.getAccountId() + " has insufficient funds for a withdrawal of " + t.getAmount());
+        }
+
+        return new Transaction(id, t.getAccountId(), t.getAmount(), t.getType(), t.getDescription(), t.getDate());
+    }
+
+    Map<String, Object> statistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", writer != null);
+        stats.put("queued", queued.get());
+        stats.put("batches", batches.sum());
+        stats.put("rows", rows.sum());
+        stats.put("rejectedWhenFull", rejectedWhenFull.sum());
+        stats.put("batchFailures", batchFailures.sum());
+        return stats;
+    }
+
+    private Integer await(Pending pending) throws SQLException, AccountNotFoundException {
+        try {
+            return pending.id.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            // The row may still be written later, so the caller must not retry this as if nothing happened
+            throw new SQLTimeoutException("Timed out after " + timeoutMillis + "ms waiting for the group commit of a transaction");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the group commit of a transaction", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof WriterStoppedException)
+                throw (WriterStoppedException) e.getCause();
+            if (e.getCause() instanceof AccountNotFoundException)
+                throw (AccountNotFoundException) e.getCause();
+            if (e.getCause() instanceof SQLException)
+                throw (SQLException) e.getCause();
+            throw new SQLException("Group commit of a transaction failed", e.getCause());
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(maxBatch);
+        // A JDBC call can swallow the interrupt, so the writer also checks it is still the current one
+        while (writer == Thread.currentThread() && !Thread.currentThread().isInterrupted()) {
+            if (queued.get() < maxBatch) {
+                LockSupport.parkNanos(windowNanos);
+            }
+
+            Pending next;
+            while (batch.size() < maxBatch && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                continue;
+            }
+            queued.addAndGet(-batch.size());
+
+            write(batch);
+            batch.clear();
+        }
+
+        groupCommitDao.close();
+    }
+
+    private void write(List<Pending> batch) {
+        List<Transaction> transactions = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            transactions.add(pending.transaction);
+        }
+
+        List<Integer> ids = null;
+        try {
+            ids = groupCommitDao.addTransactions(transactions);
+            batches.increment();
+            rows.add(batch.size());
+        } catch (SQLException | RuntimeException e) {
+            batchFailures.increment();
+            logger.warn("Group commit of " + batch.size() + " transactions failed, inserting them one at a time. Exception message: " + e.getMessage());
+        }
+
+        if (ids != null) {
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), ids.get(i));
+            }
+            return;
+        }
+
+        // The batch was rolled back as a whole; one bad row should not fail everyone else queued with it
+        for (Pending pending : batch) {
+            try {
+                complete(pending, groupCommitDao.addTransaction(pending.transaction));
+            } catch (SQLException | RuntimeException e) {
+                pending.id.completeExceptionally(e);
+            }
+        }
+    }
+
+    // A row that wrote nothing was short of funds, unless its account was deleted since the ownership check
+    private void complete(Pending pending, Integer id) {
+        if (id != null) {
+            pending.id.complete(id);
+            return;
+        }
+
+        int accountId = pending.transaction.getAccountId();
+        try {
+            if (groupCommitDao.accountExists(accountId)) {
+                pending.id.complete(null);
+            } else {
+                pending.id.completeExceptionally(AccountNotFoundException.withoutStackTrace("Account with id " + accountId + " was not found"));
+            }
+        } catch (SQLException | RuntimeException e) {
+            pending.id.completeExceptionally(e);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.revature.service;
+
+import com.revature.dao.HotAccountDao;
+import com.revature.model.Account;
+import com.revature.model.ChangeEvent;
+import com.revature.model.FoldedDeposits;
+import com.revature.model.Transaction;
+import com.revature.utility.Settings;
+import com.revature.utility.UnitOfWork;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Accounts listed in hot_accounts take deposits without locking their accounts row. Each deposit is logged as a
+// pending transaction and counted in a striped per-account LongAdder; a background fold moves the pending
+// rows into accounts.balance every hot_account_fold_ms. Withdrawals still lock the row, folding first so the
+// overdraft check sees every deposit.
+public class HotAccounts {
+
+    private static Logger logger = LoggerFactory.getLogger(HotAccounts.class);
+
+    private static final Set<Integer> hot = parse(Settings.getString("hot_accounts", ""));
+    private static final Map<Integer, LongAdder> pending = new ConcurrentHashMap<>();
+    private static final LongAdder folded = new LongAdder();
+
+    private static final HotAccountDao hotAccountDao = new HotAccountDao();
+
+    private HotAccounts() {
+    }
+
+    public static boolean isHot(int accountId) {
+        return hot.contains(accountId);
+    }
+
+    public static boolean isEnabled() {
+        return !hot.isEmpty();
+    }
+
+    public static void startFolding() {
+        if (hot.isEmpty()) {
+            return;
+        }
+
+        long interval = Settings.getInt("hot_account_fold_ms", 200);
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "hot-account-fold");
+            t.setDaemon(true);
+            return t;
+        });
+
+        // Folds every hot account each time, not only those with local deposits, so rows logged by other nodes
+        // or left behind by a crash are applied too
+        Integer[] accountIds = hot.toArray(new Integer[0]);
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                fold(accountIds);
+            } catch (SQLException | RuntimeException e) {
+                logger.error("Failed to fold pending deposits into hot account balances", e);
+            }
+        }, interval, interval, TimeUnit.MILLISECONDS);
+
+        logger.info("Hot account mode enabled for accounts " + hot);
+    }
+
+    static Transaction deposit(Transaction t) throws SQLException {
+        Transaction added = hotAccountDao.addPendingDeposit(t);
+
+        int accountId = t.getAccountId();
+        int amount = t.getAmount();
+        UnitOfWork.afterCommit(() -> pending.computeIfAbsent(accountId, id -> new LongAdder()).add(amount));
+        return added;
+    }
+
+    static void fold(int accountId) throws SQLException {
+        fold(new Integer[]{accountId});
+    }
+
+    static List<Account> getAccountsWithPending(Integer[] accountIds) throws SQLException {
+        return hotAccountDao.getAccountsWithPending(accountIds);
+    }
+
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        Map<Integer, Long> localPending = new LinkedHashMap<>();
+        for (Integer id : hot) {
+            localPending.put(id, pendingOnThisNode(id));
+        }
+
+        stats.put("pendingOnThisNode", localPending);
+        stats.put("folded", folded.sum());
+        return stats;
+    }
+
+    // For callers that already hold the account's row lock on con and need the fold inside that transaction.
+    // Returns the amount added to each folded account's balance.
+    static Map<Integer, Long> fold(Connection con, int accountId) throws SQLException {
+        List<FoldedDeposits> deltas = hotAccountDao.fold(con, new Integer[]{accountId});
+        recordFolded(deltas);
+
+        Map<Integer, Long> added = new LinkedHashMap<>();
+        for (FoldedDeposits delta : deltas) {
+            added.put(delta.getAccountId(), delta.getAmount());
+        }
+        return added;
+    }
+
+    private static void fold(Integer[] accountIds) throws SQLException {
+        recordFolded(hotAccountDao.fold(accountIds));
+    }
+
+    // The fold moves accounts.balance without a transaction event of its own, so an ACCOUNT UPDATED event drops
+    // cached copies and ETags that still hold the pre-fold balance. The counters follow once the fold has committed;
+    // until then the rows are still pending to everyone else.
+    static void recordFolded(List<FoldedDeposits> deltas) throws SQLException {
+        for (FoldedDeposits delta : deltas) {
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.UPDATED, delta.getClientId(), delta.getAccountId(), delta.getAccountId()));
+        }
+
+        UnitOfWork.afterCommit(() -> {
+            for (FoldedDeposits delta : deltas) {
+                folded.add(delta.getAmount());
+
+                // Only this node's deposits were counted locally; a fold that also picked up another node's rows can
+                // take the counter below zero, so it is clamped rather than trusted as an exact figure
+                LongAdder adder = pending.get(delta.getAccountId());
+                if (adder != null) {
+                    long remaining = Math.max(0, adder.sumThenReset() - delta.getAmount());
+                    adder.add(remaining);
+                }
+            }
+        });
+    }
+
+    static long pendingOnThisNode(int accountId) {
+        LongAdder adder = pending.get(accountId);
+        return adder == null ? 0 : adder.sum();
+    }
+
+    private static Set<Integer> parse(String ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        Set<Integer> parsed = ConcurrentHashMap.newKeySet();
+        for (String id : ids.split(",")) {
+            try {
+                parsed.add(Integer.parseInt(id.trim()));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Environment variable hot_accounts must be a comma separated list of account ids. Input was " + ids);
+            }
+        }
+        return Collections.unmodifiableSet(parsed);
+    }
+}
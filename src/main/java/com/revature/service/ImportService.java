@@ -0,0 +1,53 @@
+package com.revature.service;
+
+import com.revature.dao.ImportDao;
+import com.revature.model.ChangeEvent;
+import com.revature.model.ImportReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.SQLException;
+
+public class ImportService {
+
+    private static Logger logger = LoggerFactory.getLogger(ImportService.class);
+
+    private ImportDao importDao;
+
+    public ImportService() {
+        importDao = new ImportDao();
+    }
+
+    public ImportService(ImportDao mockDao) {
+        importDao = mockDao;
+    }
+
+    public ImportReport importCsv(String table, Reader csv) throws SQLException, IOException {
+        logger.info("importCsv method called for " + table);
+
+        ImportReport report;
+        switch (table) {
+            case "clients":
+                report = importDao.importClients(csv);
+                break;
+            case "accounts":
+                report = importDao.importAccounts(csv);
+                break;
+            case "transactions":
+                report = importDao.importTransactions(csv);
+                break;
+            default:
+                throw new IllegalArgumentException("Import table must be one of clients, accounts or transactions. Input was " + table);
+        }
+
+        logger.info("Import finished. " + report);
+
+        // Imported rows can touch any number of clients, so every node starts its caches over
+        if (report.getRowsMerged() > 0) {
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.ALL, ChangeEvent.Action.UPDATED, 0, 0, 0));
+        }
+        return report;
+    }
+}
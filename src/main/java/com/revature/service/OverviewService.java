@@ -0,0 +1,127 @@
+package com.revature.service;
+
+import com.revature.dao.AccountDao;
+import com.revature.dao.AsyncAccountDao;
+import com.revature.dao.AsyncClientDao;
+import com.revature.dao.AsyncTransactionDao;
+import com.revature.dao.CachingAccountDao;
+import com.revature.dao.CachingClientDao;
+import com.revature.dao.ClientDao;
+import com.revature.dao.TransactionDao;
+import com.revature.exception.ClientNotFoundException;
+import com.revature.model.Account;
+import com.revature.model.AccountOverview;
+import com.revature.model.Client;
+import com.revature.model.ClientOverview;
+import com.revature.utility.Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+
+// Builds the client dashboard in one request. The client and its account list load concurrently, then every
+// account's recent transactions in parallel, all on the database executor. Everything shares one deadline of
+// overview_deadline_ms: an account whose transactions are late or failed is flagged and the overview marked
+// incomplete, while a late client or account list fails the request, since there is nothing useful to show.
+public class OverviewService {
+
+    private static final int DEFAULT_RECENT_TRANSACTIONS = 5;
+    private static final int MAX_RECENT_TRANSACTIONS = 50;
+
+    private static Logger logger = LoggerFactory.getLogger(OverviewService.class);
+
+    private AsyncClientDao clientDao;
+    private AsyncAccountDao accountDao;
+    private AsyncTransactionDao transactionDao;
+    private long deadlineMillis;
+
+    public OverviewService() {
+        clientDao = new AsyncClientDao(new CachingClientDao());
+        accountDao = new AsyncAccountDao(new CachingAccountDao());
+        transactionDao = new AsyncTransactionDao(new TransactionDao());
+        deadlineMillis = Settings.getInt("overview_deadline_ms", 2000);
+    }
+
+    public OverviewService(ClientDao mockClientDao, AccountDao mockAccountDao, TransactionDao mockTransactionDao, long deadlineMillis) {
+        clientDao = new AsyncClientDao(mockClientDao);
+        accountDao = new AsyncAccountDao(mockAccountDao);
+        transactionDao = new AsyncTransactionDao(mockTransactionDao);
+        this.deadlineMillis = deadlineMillis;
+    }
+
+    public CompletableFuture<ClientOverview> getOverview(String clientIdString, String recentString) {
+        logger.info("getOverview method called");
+        int recent = parseRecent(recentString);
+        try {
+            int clientId = Integer.parseInt(clientIdString);
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+
+            CompletableFuture<Client> client = clientDao.getClient(clientId).thenApply(c -> {
+                if(c == null) {
+                    throw new CompletionException(ClientNotFoundException.withoutStackTrace("Client with id " + clientId + " was not found"));
+                }
+                return c;
+            }).orTimeout(deadlineMillis, TimeUnit.MILLISECONDS);
+
+            CompletableFuture<List<Account>> accounts = accountDao.getAccounts(clientId).thenApply(list -> {
+                try {
+                    return AccountService.withPendingDeposits(list);
+                } catch (SQLException e) {
+                    throw new CompletionException(e);
+                }
+            }).orTimeout(deadlineMillis, TimeUnit.MILLISECONDS);
+
+            CompletableFuture<List<AccountOverview>> accountOverviews = accounts.thenCompose(list -> fanOut(list, recent, deadline));
+
+            return client.thenCombine(accountOverviews, (c, parts) -> {
+                boolean complete = parts.stream().noneMatch(AccountOverview::isTransactionsUnavailable);
+                return new ClientOverview(c, parts, complete);
+            });
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Id provided for client must be a valid int");
+        }
+    }
+
+    private CompletableFuture<List<AccountOverview>> fanOut(List<Account> accounts, int recent, long deadline) {
+        long remaining = Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime()));
+
+        List<CompletableFuture<AccountOverview>> parts = new ArrayList<>(accounts.size());
+        for(Account a : accounts) {
+            parts.add(transactionDao.getRecentTransactions(a.getId(), recent)
+                    .thenApply(transactions -> new AccountOverview(a, transactions, false))
+                    .exceptionally(e -> {
+                        logger.warn("Recent transactions for account " + a.getId() + " could not be loaded for the overview. Exception message: " + e.getMessage());
+                        return new AccountOverview(a, null, true);
+                    })
+                    .completeOnTimeout(new AccountOverview(a, null, true), remaining, TimeUnit.MILLISECONDS));
+        }
+
+        return CompletableFuture.allOf(parts.toArray(new CompletableFuture[0])).thenApply(done -> {
+            List<AccountOverview> overviews = new ArrayList<>(parts.size());
+            for(CompletableFuture<AccountOverview> part : parts) {
+                overviews.add(part.join());
+            }
+            return overviews;
+        });
+    }
+
+    private static int parseRecent(String recentString) {
+        if(recentString == null)
+            return DEFAULT_RECENT_TRANSACTIONS;
+
+        try {
+            int recent = Integer.parseInt(recentString);
+            if(recent < 1 || recent > MAX_RECENT_TRANSACTIONS) {
+                throw new IllegalArgumentException("Transactions must be between 1 and " + MAX_RECENT_TRANSACTIONS + ". Input was " + recent);
+            }
+            return recent;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Transactions must be a valid int. Input was " + recentString);
+        }
+    }
+}
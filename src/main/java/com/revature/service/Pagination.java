@@ -0,0 +1,36 @@
+package com.revature.service;
+
+final class Pagination {
+
+    static final int DEFAULT_LIMIT = 100;
+    static final int MAX_LIMIT = 1000;
+
+    private Pagination() {
+    }
+
+    static int parseLimit(String limitString) {
+        if (limitString == null)
+            return DEFAULT_LIMIT;
+
+        try {
+            int limit = Integer.parseInt(limitString);
+            if (limit < 1 || limit > MAX_LIMIT) {
+                throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ". Input was " + limit);
+            }
+            return limit;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Limit must be a valid int. Input was " + limitString);
+        }
+    }
+
+    static int parseAfter(String afterString) {
+        if (afterString == null)
+            return 0;
+
+        try {
+            return Integer.parseInt(afterString);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Cursor provided for after must be a valid int. Input was " + afterString);
+        }
+    }
+}
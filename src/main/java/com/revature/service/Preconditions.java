@@ -0,0 +1,30 @@
+package com.revature.service;
+
+import com.revature.exception.PreconditionFailedException;
+
+final class Preconditions {
+
+    private Preconditions() {
+    }
+
+    // If-Match carries the row version from a previous read as a quoted strong entity tag: either the ETag sent
+    // with the account or transaction, e.g. "3/...", or just the version, e.g. "3". A missing header or * means
+    // the write is unconditional.
+    static Integer parseIfMatch(String ifMatch) throws PreconditionFailedException {
+        if (ifMatch == null || ifMatch.trim().equals("*"))
+            return null;
+
+        String tag = ifMatch.trim();
+        if (tag.length() > 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            String version = tag.substring(1, tag.length() - 1);
+            int slash = version.indexOf('/');
+            try {
+                return Integer.parseInt(slash < 0 ? version : version.substring(0, slash));
+            } catch (NumberFormatException e) {
+                // Not one of our versions, so it cannot match
+            }
+        }
+
+        throw new PreconditionFailedException("If-Match must be the quoted version of the resource. Input was " + ifMatch);
+    }
+}
@@ -0,0 +1,67 @@
+package com.revature.service;
+
+import com.revature.model.ChangeEvent;
+import com.revature.utility.IntIntMap;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Per-client and per-account counters bumped by every committed write, locally or on another node, used to
+// build ETags. A client's counter moves on any change to the client, its accounts or their transactions; an
+// account's counter on changes to the account or its transactions. Versions are read before the data they tag,
+// so a tag can only ever be older than the body it was sent with, never newer.
+public class ResourceVersions {
+
+    // Counters start over on restart, so tags carry a per-process epoch to keep old ones from matching again
+    private static final String EPOCH = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private static final IntIntMap clients = new IntIntMap();
+    private static final IntIntMap accounts = new IntIntMap();
+    private static final AtomicInteger clientList = new AtomicInteger();
+    private static final AtomicInteger resets = new AtomicInteger();
+
+    private ResourceVersions() {
+    }
+
+    public static String clientList() {
+        return EPOCH + "." + resets.get() + ".l" + clientList.get();
+    }
+
+    public static String client(int clientId) {
+        return EPOCH + "." + resets.get() + ".c" + version(clients, clientId);
+    }
+
+    public static String account(int clientId, int accountId) {
+        return client(clientId) + ".a" + version(accounts, accountId);
+    }
+
+    public static void onChange(ChangeEvent event) {
+        switch (event.getEntity()) {
+            case ALL:
+                resets.incrementAndGet();
+                break;
+            case CLIENT:
+                clientList.incrementAndGet();
+                bump(clients, event.getClientId());
+                break;
+            default:
+                bump(clients, event.getClientId());
+                bump(accounts, event.getAccountId());
+                break;
+        }
+    }
+
+    private static int version(IntIntMap versions, int id) {
+        int version = versions.get(id);
+        return version == IntIntMap.NO_VALUE ? 0 : version;
+    }
+
+    private static void bump(IntIntMap versions, int id) {
+        if (id <= 0)
+            return;
+
+        synchronized (versions) {
+            versions.put(id, version(versions, id) + 1);
+        }
+    }
+}
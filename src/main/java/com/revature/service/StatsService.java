@@ -0,0 +1,53 @@
+package com.revature.service;
+
+import com.revature.dao.CachingAccountDao;
+import com.revature.dao.CachingClientDao;
+import com.revature.dao.ExistenceFilter;
+import com.revature.utility.ConnectionPool;
+import com.revature.utility.ConnectionUtility;
+import com.revature.utility.DbExecutor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class StatsService {
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+
+        Map<String, Object> caches = new LinkedHashMap<>();
+        caches.put("clients", CachingClientDao.cacheStats());
+        caches.put("accounts", CachingAccountDao.cacheStats());
+        stats.put("caches", caches);
+
+        Map<String, Object> batchLoaders = new LinkedHashMap<>();
+        batchLoaders.put("clients", CachingClientDao.batchStats());
+        batchLoaders.put("accountOwners", CachingAccountDao.batchStats());
+        stats.put("batchLoaders", batchLoaders);
+
+        Map<String, Object> filters = new LinkedHashMap<>();
+        for (ExistenceFilter filter : new ExistenceFilter[]{ExistenceFilter.CLIENTS, ExistenceFilter.ACCOUNTS}) {
+            Map<String, Object> filterStats = new LinkedHashMap<>();
+            filterStats.put("filtered", filter.getFilteredCount());
+            filterStats.put("negativeCache", filter.missCacheStats());
+            filters.put(filter.getTable(), filterStats);
+        }
+        stats.put("existenceFilters", filters);
+
+        ConnectionPool pool = ConnectionUtility.getPool();
+        Map<String, Object> connections = new LinkedHashMap<>();
+        connections.put("size", pool.getSize());
+        connections.put("active", pool.getActiveCount());
+        connections.put("idle", pool.getIdleCount());
+        connections.put("statementCacheHits", pool.getStatementCacheHits());
+        connections.put("statementCacheMisses", pool.getStatementCacheMisses());
+        connections.put("statementCacheEvictions", pool.getStatementCacheEvictions());
+        stats.put("connectionPool", connections);
+        stats.put("dbExecutor", DbExecutor.stats());
+
+        stats.put("hotAccounts", HotAccounts.stats());
+        stats.put("groupCommit", GroupCommit.stats());
+
+        return stats;
+    }
+}
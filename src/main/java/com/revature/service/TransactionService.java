@@ -1,45 +1,64 @@
 package com.revature.service;
 
 import com.revature.dao.AccountDao;
+import com.revature.dao.AsyncTransactionDao;
+import com.revature.dao.CachingAccountDao;
+import com.revature.dao.CachingClientDao;
 import com.revature.dao.ClientDao;
+import com.revature.dao.RowHandler;
 import com.revature.dao.TransactionDao;
 import com.revature.exception.AccountNotFoundException;
 import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.exception.PreconditionFailedException;
 import com.revature.exception.TransactionNotFoundException;
+import com.revature.model.ChangeEvent;
+import com.revature.model.Page;
 import com.revature.model.Transaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class TransactionService {
 
+    private static final int BULK_CHUNK_SIZE = 500;
+
     private static Logger logger = LoggerFactory.getLogger(TransactionService.class);
 
     private ClientDao clientDao;
     private AccountDao accountDao;
     private TransactionDao transactionDao;
+    private AsyncTransactionDao asyncTransactionDao;
 
     public TransactionService() {
-        clientDao = new ClientDao();
-        accountDao = new AccountDao();
+        clientDao = new CachingClientDao();
+        accountDao = new CachingAccountDao();
         transactionDao = new TransactionDao();
+        asyncTransactionDao = new AsyncTransactionDao(transactionDao);
     }
 
     public TransactionService(ClientDao mockClientDao, AccountDao mockAccountDao, TransactionDao mockTransactionDao) {
         clientDao = mockClientDao;
         accountDao = mockAccountDao;
         transactionDao = mockTransactionDao;
+        asyncTransactionDao = new AsyncTransactionDao(transactionDao);
     }
 
     public Transaction getTransaction(String idString, String clientIdString, String accountIdString) throws SQLException, ClientNotFoundException, AccountNotFoundException, TransactionNotFoundException {
         logger.info("getTransaction method called");
         try {
-            int accountId = checkForClientAndAccount(clientIdString, accountIdString);
+            int clientId = Integer.parseInt(clientIdString);
+            int accountId = Integer.parseInt(accountIdString);
             int id = Integer.parseInt(idString);
 
-            Transaction t = transactionDao.getTransaction(id, accountId);
+            Transaction t = transactionDao.getTransaction(id, clientId, accountId);
             if(t == null) {
                 throw new TransactionNotFoundException("Transaction with id " + id + " was not found for account with id " + accountId);
             }
@@ -50,11 +69,31 @@ public class TransactionService {
         }
     }
 
+    public CompletableFuture<Transaction> getTransactionAsync(String idString, String clientIdString, String accountIdString) {
+        logger.info("getTransactionAsync method called");
+        try {
+            int clientId = Integer.parseInt(clientIdString);
+            int accountId = Integer.parseInt(accountIdString);
+            int id = Integer.parseInt(idString);
+
+            return asyncTransactionDao.getTransaction(id, clientId, accountId).thenApply(t -> {
+                if(t == null) {
+                    throw new CompletionException(new TransactionNotFoundException("Transaction with id " + id + " was not found for account with id " + accountId));
+                }
+
+                return t;
+            });
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ids provided for client, account, and transaction must be valid ints");
+        }
+    }
+
     public List<Transaction> getTransactions(String clientIdString, String accountIdString) throws SQLException, ClientNotFoundException, AccountNotFoundException {
         logger.info("getTransactions method called");
         try {
-            int accountId = checkForClientAndAccount(clientIdString, accountIdString);
-            return transactionDao.getTransactions(accountId);
+            int clientId = Integer.parseInt(clientIdString);
+            int accountId = Integer.parseInt(accountIdString);
+            return transactionDao.getTransactions(clientId, accountId);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
         }
@@ -63,52 +102,134 @@ public class TransactionService {
     public List<Transaction> getTransactions(String clientIdString, String accountIdString, String descriptionContains) throws SQLException, ClientNotFoundException, AccountNotFoundException {
         logger.info("getTransactions method called");
         try {
-            int accountId = checkForClientAndAccount(clientIdString, accountIdString);
-            return transactionDao.getTransactions(accountId, descriptionContains);
+            int clientId = Integer.parseInt(clientIdString);
+            int accountId = Integer.parseInt(accountIdString);
+            return transactionDao.getTransactions(clientId, accountId, descriptionContains);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
+        }
+    }
+
+    public Page<Transaction> getTransactionsPage(String clientIdString, String accountIdString, String afterString, String limitString) throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        logger.info("getTransactionsPage method called");
+        try {
+            int clientId = Integer.parseInt(clientIdString);
+            int accountId = Integer.parseInt(accountIdString);
+            int after = Pagination.parseAfter(afterString);
+            int limit = Pagination.parseLimit(limitString);
+
+            return Page.fromLookahead(transactionDao.getTransactionsAfter(clientId, accountId, after, limit + 1), limit, Transaction::getId);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
+        }
+    }
+
+    public void streamTransactions(String clientIdString, String accountIdString, RowHandler<Transaction> handler) throws SQLException, IOException, ClientNotFoundException, AccountNotFoundException {
+        logger.info("streamTransactions method called");
+        try {
+            int clientId = Integer.parseInt(clientIdString);
+            int accountId = Integer.parseInt(accountIdString);
+            transactionDao.streamTransactions(clientId, accountId, handler);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
         }
     }
 
-    public Transaction addTransaction(String clientIdString, String accountIdString, Transaction t) throws SQLException, ClientNotFoundException, AccountNotFoundException {
+    public Transaction addTransaction(String clientIdString, String accountIdString, Transaction t) throws SQLException, ClientNotFoundException, AccountNotFoundException, InsufficientFundsException {
         logger.info("addTransaction method called");
         try {
             int accountId = checkForClientAndAccount(clientIdString, accountIdString);
             validateTransactionInformation(t);
 
             t.setAccountId(accountId);
-            return transactionDao.addTransaction(t);
+            Transaction added;
+            if(HotAccounts.isHot(accountId) && t.getType().equals("Deposit")) {
+                added = HotAccounts.deposit(t);
+            } else if(HotAccounts.isHot(accountId)) {
+                HotAccounts.fold(accountId);
+                added = transactionDao.addTransaction(t);
+            } else {
+                // The group commit writer commits on its own connection, so it is only used while this request has
+                // written nothing through its unit of work; otherwise the insert joins the request's transaction
+                added = GroupCommit.submit(t);
+                if(added == null)
+                    added = transactionDao.addTransaction(t);
+            }
+
+            publish(ChangeEvent.Action.CREATED, clientIdString, accountId, added.getId());
+            return added;
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
         }
     }
 
-    public void updateTransaction(String idString, String clientIdString, String accountIdString, Transaction t) throws SQLException, ClientNotFoundException, AccountNotFoundException, TransactionNotFoundException {
+    // Validates and inserts in chunks so arbitrarily long feeds stay bounded in memory. All chunks share the
+    // request's unit of work, so an invalid transaction anywhere in the feed rolls back the whole batch.
+    public List<Integer> addTransactions(String clientIdString, String accountIdString, Iterator<Transaction> transactions) throws SQLException, ClientNotFoundException, AccountNotFoundException, InsufficientFundsException {
+        logger.info("addTransactions method called");
+        try {
+            int accountId = checkForClientAndAccount(clientIdString, accountIdString);
+            foldIfHot(accountId);
+
+            List<Integer> ids = new ArrayList<>();
+            List<Transaction> chunk = new ArrayList<>(BULK_CHUNK_SIZE);
+            while(transactions.hasNext()) {
+                Transaction t = transactions.next();
+                validateTransactionInformation(t);
+                t.setAccountId(accountId);
+                chunk.add(t);
+
+                if(chunk.size() == BULK_CHUNK_SIZE) {
+                    ids.addAll(transactionDao.addTransactions(chunk));
+                    chunk.clear();
+                }
+            }
+
+            if(!chunk.isEmpty()) {
+                ids.addAll(transactionDao.addTransactions(chunk));
+            }
+
+            // One event covers the whole feed, subscribers only care which account changed
+            publish(ChangeEvent.Action.CREATED, clientIdString, accountId, 0);
+            return ids;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Ids provided for client and account must be valid ints");
+        }
+    }
+
+    public void updateTransaction(String idString, String clientIdString, String accountIdString, Transaction t, String ifMatch) throws SQLException, ClientNotFoundException, AccountNotFoundException, TransactionNotFoundException, PreconditionFailedException, InsufficientFundsException {
         logger.info("updateTransaction method called");
         try {
             int accountId = checkForClientAndAccount(clientIdString, accountIdString);
             int id = Integer.parseInt(idString);
+            Integer expectedVersion = Preconditions.parseIfMatch(ifMatch);
 
             validateTransactionInformation(t);
 
             t.setId(id);
             t.setAccountId(accountId);
-            if(!transactionDao.updateTransaction(t)) {
+            foldIfHot(accountId);
+            if(!transactionDao.updateTransaction(t, expectedVersion)) {
                 throw new TransactionNotFoundException("Transaction with id " + id + " was not found for account with id " + accountId);
             }
+
+            publish(ChangeEvent.Action.UPDATED, clientIdString, accountId, id);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Ids provided for client, account, and transaction must be valid ints");
         }
     }
 
-    public void deleteTransaction(String idString, String clientIdString, String accountIdString) throws SQLException, ClientNotFoundException, AccountNotFoundException, TransactionNotFoundException {
+    public void deleteTransaction(String idString, String clientIdString, String accountIdString) throws SQLException, ClientNotFoundException, AccountNotFoundException, TransactionNotFoundException, InsufficientFundsException {
         logger.info("deleteTransaction method called");
         try {
             int accountId = checkForClientAndAccount(clientIdString, accountIdString);
             int id = Integer.parseInt(idString);
+            foldIfHot(accountId);
             if(!transactionDao.deleteTransaction(id, accountId)) {
                 throw new TransactionNotFoundException("Transaction with id " + id + " was not found for account with id " + accountId);
             }
+
+            publish(ChangeEvent.Action.DELETED, clientIdString, accountId, id);
         } catch (NumberFormatException e) {
             throw new IllegalArgumentException("Ids provided for client, account, and transaction must be valid ints");
         }
@@ -116,18 +237,23 @@ public class TransactionService {
 
     private int checkForClientAndAccount(String clientIdString, String accountIdString) throws SQLException, ClientNotFoundException, AccountNotFoundException {
         int clientId = Integer.parseInt(clientIdString);
+        int accountId = Integer.parseInt(accountIdString);
 
-        if (clientDao.getClient(clientId) == null) {
-            throw new ClientNotFoundException("Client with id " + clientId + " was not found");
-        }
+        accountDao.checkOwnership(accountId, clientId);
 
-        int accountId = Integer.parseInt(accountIdString);
+        return accountId;
+    }
 
-        if (accountDao.getAccount(accountId, clientId) == null) {
-            throw new AccountNotFoundException("Account with id " + accountId + " was not found for client with id " + clientId);
+    // Overdraft checks compare against accounts.balance, so a hot account's pending deposits are folded in first
+    private void foldIfHot(int accountId) throws SQLException {
+        if(HotAccounts.isHot(accountId)) {
+            HotAccounts.fold(accountId);
         }
+    }
 
-        return accountId;
+    private void publish(ChangeEvent.Action action, String clientIdString, int accountId, int id) throws SQLException {
+        int clientId = Integer.parseInt(clientIdString);
+        ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.TRANSACTION, action, clientId, accountId, id));
     }
 
     private void validateTransactionInformation(Transaction t) {
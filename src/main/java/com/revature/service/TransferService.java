@@ -0,0 +1,73 @@
+package com.revature.service;
+
+import com.revature.dao.AccountDao;
+import com.revature.dao.CachingAccountDao;
+import com.revature.dao.TransferDao;
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.model.ChangeEvent;
+import com.revature.model.Transfer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+
+public class TransferService {
+
+    private static Logger logger = LoggerFactory.getLogger(TransferService.class);
+
+    private AccountDao accountDao;
+    private TransferDao transferDao;
+
+    public TransferService() {
+        accountDao = new CachingAccountDao();
+        transferDao = new TransferDao();
+    }
+
+    public TransferService(AccountDao mockAccountDao, TransferDao mockTransferDao) {
+        accountDao = mockAccountDao;
+        transferDao = mockTransferDao;
+    }
+
+    // Both accounts have to belong to the client in the path; moving money to another client's account is not supported
+    public Transfer addTransfer(String clientIdString, Transfer transfer) throws SQLException, ClientNotFoundException, AccountNotFoundException, InsufficientFundsException {
+        logger.info("addTransfer method called");
+        try {
+            int clientId = Integer.parseInt(clientIdString);
+            validateTransferInformation(transfer);
+
+            accountDao.checkOwnership(transfer.getFromAccountId(), clientId);
+            accountDao.checkOwnership(transfer.getToAccountId(), clientId);
+
+            // The balance check reads accounts.balance, so a hot source folds its pending deposits first. The fold
+            // runs after the transfer has locked both rows in id order; a pending deposit to the destination is unaffected.
+            int fromAccountId = transfer.getFromAccountId();
+            Transfer completed = HotAccounts.isHot(fromAccountId)
+                    ? transferDao.transfer(transfer, con -> HotAccounts.fold(con, fromAccountId))
+                    : transferDao.transfer(transfer);
+
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.TRANSACTION, ChangeEvent.Action.CREATED, clientId, completed.getFromAccountId(), completed.getWithdrawalId()));
+            ChangeEvents.publish(new ChangeEvent(ChangeEvent.Entity.TRANSACTION, ChangeEvent.Action.CREATED, clientId, completed.getToAccountId(), completed.getDepositId()));
+            return completed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Id provided for client must be a valid int");
+        }
+    }
+
+    private void validateTransferInformation(Transfer transfer) {
+        if(transfer.getFromAccountId() == transfer.getToAccountId()) {
+            throw new IllegalArgumentException("A transfer must be between two different accounts. Input was " + transfer.getFromAccountId() + " for both");
+        }
+
+        if(transfer.getAmount() <= 0) {
+            throw new IllegalArgumentException("Amount must be greater than 0. Input was " + transfer.getAmount());
+        }
+
+        if(transfer.getDate() == null) {
+            throw new IllegalArgumentException("Date must be provided");
+        }
+
+        transfer.setDescription(transfer.getDescription() == null ? "Transfer" : transfer.getDescription().trim());
+    }
+}
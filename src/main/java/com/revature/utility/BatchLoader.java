@@ -0,0 +1,152 @@
+package com.revature.utility;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Coalesces single-key lookups that arrive within a short window into one bulk query. The first key queued
+// schedules a flush windowMicros later; a full batch flushes at once. The bulk query runs on the DbExecutor
+// and each caller gets its own key's value, or null when the query did not return it.
+public class BatchLoader<K, V> {
+
+    @FunctionalInterface
+    public interface BulkLoad<K, V> {
+        Map<K, V> load(List<K> keys) throws Exception;
+    }
+
+    private static final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "batch-loader-timer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final long windowMicros;
+    private final int maxBatch;
+    private final BulkLoad<K, V> bulkLoad;
+
+    private final ConcurrentLinkedQueue<Pending<K, V>> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder keys = new LongAdder();
+
+    public BatchLoader(long windowMicros, int maxBatch, BulkLoad<K, V> bulkLoad) {
+        if (windowMicros < 0 || maxBatch < 1) {
+            throw new IllegalArgumentException("Batch window must be >= 0 and max batch >= 1. Input was window=" + windowMicros + ", max=" + maxBatch);
+        }
+
+        this.windowMicros = windowMicros;
+        this.maxBatch = maxBatch;
+        this.bulkLoad = bulkLoad;
+    }
+
+    public CompletableFuture<V> load(K key) {
+        Pending<K, V> pending = new Pending<>(key);
+        queue.add(pending);
+
+        if (queued.incrementAndGet() >= maxBatch) {
+            flush();
+        } else if (scheduled.compareAndSet(false, true)) {
+            timer.schedule(this::scheduledFlush, windowMicros, TimeUnit.MICROSECONDS);
+        }
+        return pending.value;
+    }
+
+    // Blocking form for the synchronous DAOs, rethrowing the bulk query's SQLException as is. On a DbExecutor
+    // thread the key is loaded directly: waiting there for a batch queued on the same executor could deadlock it.
+    public V get(K key) throws SQLException {
+        if (DbExecutor.isExecutorThread()) {
+            try {
+                return bulkLoad.load(Collections.singletonList(key)).get(key);
+            } catch (SQLException | RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new SQLException("Lookup failed", e);
+            }
+        }
+
+        try {
+            return load(key).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a batched lookup", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof SQLException)
+                throw (SQLException) e.getCause();
+            throw new SQLException("Batched lookup failed", e.getCause());
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long batchCount = batches.sum();
+        long keyCount = keys.sum();
+        stats.put("batches", batchCount);
+        stats.put("keys", keyCount);
+        stats.put("averageBatchSize", batchCount == 0 ? 0 : (double) keyCount / batchCount);
+        return stats;
+    }
+
+    private void scheduledFlush() {
+        scheduled.set(false);
+        flush();
+
+        // More than one batch was waiting; keep draining on the same schedule
+        if (queued.get() > 0 && scheduled.compareAndSet(false, true)) {
+            timer.schedule(this::scheduledFlush, windowMicros, TimeUnit.MICROSECONDS);
+        }
+    }
+
+    private void flush() {
+        List<Pending<K, V>> batch = new ArrayList<>();
+        Pending<K, V> next;
+        while (batch.size() < maxBatch && (next = queue.poll()) != null) {
+            batch.add(next);
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        queued.addAndGet(-batch.size());
+
+        Set<K> distinct = new LinkedHashSet<>();
+        for (Pending<K, V> pending : batch) {
+            distinct.add(pending.key);
+        }
+        batches.increment();
+        keys.add(distinct.size());
+
+        DbExecutor.supply(() -> bulkLoad.load(new ArrayList<>(distinct))).whenComplete((values, e) -> {
+            Map<K, V> results = values == null ? Collections.emptyMap() : values;
+            for (Pending<K, V> pending : batch) {
+                if (e != null)
+                    pending.value.completeExceptionally(e);
+                else
+                    pending.value.complete(results.get(pending.key));
+            }
+        });
+    }
+
+    private static class Pending<K, V> {
+        private final K key;
+        private final CompletableFuture<V> value = new CompletableFuture<>();
+
+        private Pending(K key) {
+            this.key = key;
+        }
+    }
+}
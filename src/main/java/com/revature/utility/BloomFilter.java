@@ -0,0 +1,73 @@
+package com.revature.utility;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter over int keys. mightContain() never returns false for a key that was added; a true answer is
+// wrong with roughly the false positive rate the filter was sized for. Adds and lookups are lock free.
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int bitCount;
+    private final int hashCount;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1. Input was " + falsePositiveRate);
+        }
+
+        int n = Math.max(expectedInsertions, 64);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bitCount = (int) Math.min(Math.max(m, 64), Integer.MAX_VALUE - 63);
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+        bits = new AtomicLongArray((bitCount + 63) / 64);
+    }
+
+    public void add(int key) {
+        int h1 = mix(key, 0x9E3779B9);
+        int h2 = mix(key, 0x85EBCA6B) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Integer.remainderUnsigned(h1 + i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = bit >>> 6;
+
+            long current = bits.get(word);
+            while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+                current = bits.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(int key) {
+        int h1 = mix(key, 0x9E3779B9);
+        int h2 = mix(key, 0x85EBCA6B) | 1;
+
+        for (int i = 0; i < hashCount; i++) {
+            int bit = Integer.remainderUnsigned(h1 + i * h2, bitCount);
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public int getBitCount() {
+        return bitCount;
+    }
+
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    // Murmur3 finalizer seeded differently for each of the two base hashes
+    private static int mix(int key, int seed) {
+        int h = key * seed;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
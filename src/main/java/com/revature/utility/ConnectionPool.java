@@ -0,0 +1,461 @@
+package com.revature.utility;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConnectionPool implements AutoCloseable {
+
+    private static Logger logger = LoggerFactory.getLogger(ConnectionPool.class);
+
+    // Connections idle for less than this are handed out without a validation round trip
+    private static final long VALIDATION_INTERVAL_MILLIS = 5000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long idleTimeoutMillis;
+    private final long acquireTimeoutMillis;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final ScheduledExecutorService maintenance;
+    private volatile boolean closed;
+
+    private final LongAdder statementCacheHits = new LongAdder();
+    private final LongAdder statementCacheMisses = new LongAdder();
+    private final LongAdder statementCacheEvictions = new LongAdder();
+
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long idleTimeoutMillis, long acquireTimeoutMillis) {
+        this(factory, minSize, maxSize, idleTimeoutMillis, acquireTimeoutMillis, 0);
+    }
+
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long idleTimeoutMillis, long acquireTimeoutMillis, int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Pool sizes must satisfy 0 <= min <= max and max >= 1. Input was min=" + minSize + ", max=" + maxSize);
+        }
+
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1000, idleTimeoutMillis / 2);
+        maintenance.scheduleWithFixedDelay(this::maintain, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been closed");
+        }
+
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis + " ms waiting for a database connection");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            return checkout().newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    public int getSize() {
+        return size.get();
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    public long getStatementCacheHits() {
+        return statementCacheHits.sum();
+    }
+
+    public long getStatementCacheMisses() {
+        return statementCacheMisses.sum();
+    }
+
+    public long getStatementCacheEvictions() {
+        return statementCacheEvictions.sum();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        maintenance.shutdownNow();
+
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            destroy(pc);
+        }
+    }
+
+    private PooledConnection checkout() throws SQLException {
+        PooledConnection pc;
+        while ((pc = idle.pollFirst()) != null) {
+            if (isUsable(pc)) {
+                return pc;
+            }
+            destroy(pc);
+        }
+
+        size.incrementAndGet();
+        try {
+            return new PooledConnection(factory.create());
+        } catch (SQLException | RuntimeException e) {
+            size.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pc) {
+        if (System.currentTimeMillis() - pc.lastReturned < VALIDATION_INTERVAL_MILLIS) {
+            return true;
+        }
+
+        try {
+            return pc.raw.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void release(PooledConnection pc) {
+        try {
+            if (closed || pc.broken) {
+                destroy(pc);
+                return;
+            }
+
+            try {
+                if (!pc.raw.getAutoCommit()) {
+                    pc.raw.rollback();
+                    pc.raw.setAutoCommit(true);
+                }
+                pc.raw.clearWarnings();
+            } catch (SQLException e) {
+                logger.warn("Discarding connection that could not be reset. Exception message: " + e.getMessage());
+                destroy(pc);
+                return;
+            }
+
+            pc.lastReturned = System.currentTimeMillis();
+            idle.offerFirst(pc);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void destroy(PooledConnection pc) {
+        size.decrementAndGet();
+        if (pc.statementCache != null) {
+            pc.statementCache.clear();
+        }
+        try {
+            pc.raw.close();
+        } catch (SQLException e) {
+            logger.warn("Failed to close pooled connection. Exception message: " + e.getMessage());
+        }
+    }
+
+    private void maintain() {
+        try {
+            long now = System.currentTimeMillis();
+
+            // The tail of the deque holds the least recently returned connections
+            Iterator<PooledConnection> it = idle.descendingIterator();
+            while (it.hasNext() && size.get() > minSize) {
+                PooledConnection pc = it.next();
+                if (now - pc.lastReturned > idleTimeoutMillis && idle.remove(pc)) {
+                    destroy(pc);
+                }
+            }
+
+            while (!closed && size.get() < minSize) {
+                size.incrementAndGet();
+                try {
+                    PooledConnection pc = new PooledConnection(factory.create());
+                    pc.lastReturned = now;
+                    idle.offerLast(pc);
+                } catch (SQLException e) {
+                    size.decrementAndGet();
+                    logger.warn("Failed to open connection while filling the pool. Exception message: " + e.getMessage());
+                    break;
+                }
+            }
+        } catch (RuntimeException e) {
+            logger.error("Connection pool maintenance failed", e);
+        }
+    }
+
+    private class PooledConnection {
+        private final Connection raw;
+        private final StatementCache statementCache;
+        private volatile long lastReturned = System.currentTimeMillis();
+        private volatile boolean broken;
+
+        private PooledConnection(Connection raw) {
+            this.raw = raw;
+            this.statementCache = statementCacheSize > 0 ? new StatementCache(statementCacheSize) : null;
+        }
+
+        private Connection newHandle() {
+            return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, new Handle(this));
+        }
+    }
+
+    private static Throwable unwrapInvocation(InvocationTargetException e, PooledConnection pc) {
+        Throwable cause = e.getCause();
+        if (cause instanceof SQLException) {
+            String state = ((SQLException) cause).getSQLState();
+            if (state != null && state.startsWith("08")) {
+                pc.broken = true;
+            }
+        }
+        return cause;
+    }
+
+    private class Handle implements InvocationHandler {
+        private final PooledConnection pc;
+        // The DAOs rely on closing the connection to close their statements and result sets, so track them per checkout
+        private final List<AutoCloseable> resources = new ArrayList<>();
+        private final Map<String, PreparedStatement> cachedInUse = new HashMap<>();
+        private final Set<String> failedKeys = new HashSet<>();
+        private final Set<String> evictedInUse = new HashSet<>();
+        private boolean released;
+
+        private Handle(PooledConnection pc) {
+            this.pc = pc;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        closeResources();
+                        release(pc);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || pc.raw.isClosed();
+                case "unwrap":
+                    return pc.raw.unwrap((Class<?>) args[0]);
+                case "isWrapperFor":
+                    return pc.raw.isWrapperFor((Class<?>) args[0]);
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + pc.raw + "]";
+                default:
+                    break;
+            }
+
+            if (released) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+
+            if (method.getName().equals("prepareStatement") && pc.statementCache != null) {
+                String key = cacheKey(args);
+                if (key != null && !cachedInUse.containsKey(key)) {
+                    return prepareCached(proxy, key, args);
+                }
+            }
+
+            try {
+                Object result = method.invoke(pc.raw, args);
+                if (result instanceof Statement) {
+                    resources.add((Statement) result);
+                }
+                return result;
+            } catch (InvocationTargetException e) {
+                throw unwrapInvocation(e, pc);
+            }
+        }
+
+        private String cacheKey(Object[] args) {
+            if (args.length == 1) {
+                return StatementCache.key((String) args[0], Statement.NO_GENERATED_KEYS);
+            }
+            if (args.length == 2 && args[1] instanceof Integer) {
+                return StatementCache.key((String) args[0], (Integer) args[1]);
+            }
+            return null;
+        }
+
+        private PreparedStatement prepareCached(Object connectionProxy, String key, Object[] args) throws SQLException {
+            PreparedStatement stmt = pc.statementCache.get(key);
+            if (stmt == null || stmt.isClosed()) {
+                statementCacheMisses.increment();
+                stmt = args.length == 1
+                        ? pc.raw.prepareStatement((String) args[0])
+                        : pc.raw.prepareStatement((String) args[0], (Integer) args[1]);
+                pc.statementCache.put(key, stmt);
+                for (PreparedStatement evicted : pc.statementCache.drainEvicted()) {
+                    statementCacheEvictions.increment();
+                    closeOrDefer(evicted);
+                }
+            } else {
+                statementCacheHits.increment();
+            }
+
+            cachedInUse.put(key, stmt);
+            return (PreparedStatement) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class}, new CachedStatementHandle(connectionProxy, key, stmt));
+        }
+
+        // A statement this checkout is still holding stays open until the connection is returned
+        private void closeOrDefer(PreparedStatement evicted) {
+            for (Map.Entry<String, PreparedStatement> entry : cachedInUse.entrySet()) {
+                if (entry.getValue() == evicted) {
+                    evictedInUse.add(entry.getKey());
+                    resources.add(evicted);
+                    return;
+                }
+            }
+
+            StatementCache.closeQuietly(evicted);
+        }
+
+        private void closeResources() {
+            for (AutoCloseable resource : resources) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    pc.broken = true;
+                }
+            }
+            resources.clear();
+
+            for (Map.Entry<String, PreparedStatement> entry : cachedInUse.entrySet()) {
+                if (evictedInUse.contains(entry.getKey())) {
+                    // Already closed with the other resources and no longer in the cache
+                    continue;
+                }
+                if (failedKeys.contains(entry.getKey())) {
+                    pc.statementCache.remove(entry.getKey());
+                    continue;
+                }
+
+                try {
+                    entry.getValue().clearParameters();
+                    entry.getValue().clearBatch();
+                } catch (SQLException e) {
+                    pc.statementCache.remove(entry.getKey());
+                }
+            }
+            cachedInUse.clear();
+            failedKeys.clear();
+            evictedInUse.clear();
+        }
+
+        // Closing a cached statement only hands it back; its result sets are closed when the connection is returned
+        private class CachedStatementHandle implements InvocationHandler {
+            private final Object connectionProxy;
+            private final String key;
+            private final PreparedStatement stmt;
+            private boolean closed;
+
+            private CachedStatementHandle(Object connectionProxy, String key, PreparedStatement stmt) {
+                this.connectionProxy = connectionProxy;
+                this.key = key;
+                this.stmt = stmt;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        closed = true;
+                        return null;
+                    case "isClosed":
+                        return closed || released || stmt.isClosed();
+                    case "getConnection":
+                        return connectionProxy;
+                    case "unwrap":
+                        return stmt.unwrap((Class<?>) args[0]);
+                    case "isWrapperFor":
+                        return stmt.isWrapperFor((Class<?>) args[0]);
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "CachedStatement[" + stmt + "]";
+                    default:
+                        break;
+                }
+
+                if (closed || released) {
+                    throw new SQLException("Statement has already been closed");
+                }
+
+                try {
+                    Object result = method.invoke(stmt, args);
+                    if (result instanceof ResultSet) {
+                        resources.add((ResultSet) result);
+                    }
+                    return result;
+                } catch (InvocationTargetException e) {
+                    failedKeys.add(key);
+                    throw unwrapInvocation(e, pc);
+                }
+            }
+        }
+    }
+}
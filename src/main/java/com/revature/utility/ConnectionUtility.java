@@ -5,25 +5,92 @@ import org.postgresql.Driver;
 import java.sql.Connection; // JDBC interface from the java.sql package
 import java.sql.DriverManager; // JDBC class from the java.sql package
 import java.sql.SQLException;
+import java.util.Properties;
 
 public class ConnectionUtility {
 
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T execute(Connection con) throws SQLException;
+    }
+
     private ConnectionUtility() {
     }
 
     public static Connection getConnection() throws SQLException {
+        UnitOfWork uow = UnitOfWork.current();
+        if (uow != null) {
+            return uow.getConnection();
+        }
+
+        return PoolHolder.POOL.getConnection();
+    }
 
-        // Register the Postgres driver with JDBC
-        DriverManager.registerDriver(new Driver());
+    public static ConnectionPool getPool() {
+        return PoolHolder.POOL;
+    }
+
+    // Runs work atomically on a connection. Inside a unit of work auto-commit is already off and the
+    // request's transaction covers the work, otherwise a local transaction is opened around it.
+    public static <T> T runInTransaction(Connection con, SqlWork<T> work) throws SQLException {
+        if (!con.getAutoCommit()) {
+            return work.execute(con);
+        }
+
+        con.setAutoCommit(false);
+        try {
+            T result = work.execute(con);
+            con.commit();
+            return result;
+        } catch (SQLException | RuntimeException e) {
+            con.rollback();
+            throw e;
+        } finally {
+            con.setAutoCommit(true);
+        }
+    }
+
+    public static Connection openConnection() throws SQLException {
 
         // Specify credentials for the database
         String url = System.getenv("db_url");
         String username = System.getenv("db_user");
         String password = System.getenv("db_password");
 
-        Connection connection = DriverManager.getConnection(url, username, password);
+        Properties props = new Properties();
+        if (username != null)
+            props.setProperty("user", username);
+        if (password != null)
+            props.setProperty("password", password);
+
+        // Use a named server-side prepared statement from the first execution; the pool caches the statements
+        props.setProperty("prepareThreshold", String.valueOf(Settings.getInt("db_prepare_threshold", 1)));
+
+        return DriverManager.getConnection(url, props);
+    }
+
+    // Created on first use so the environment is only read once the application actually needs the database
+    private static class PoolHolder {
+        private static final ConnectionPool POOL = createPool();
+
+        private static ConnectionPool createPool() {
+            try {
+                // Register the Postgres driver with JDBC once for the lifetime of the application
+                DriverManager.registerDriver(new Driver());
+            } catch (SQLException e) {
+                throw new IllegalStateException("Unable to register the Postgres driver", e);
+            }
+
+            ConnectionPool pool = new ConnectionPool(ConnectionUtility::openConnection,
+                    Settings.getInt("db_pool_min_size", 2),
+                    Settings.getInt("db_pool_max_size", 10),
+                    Settings.getInt("db_pool_idle_timeout_ms", 600000),
+                    Settings.getInt("db_pool_acquire_timeout_ms", 5000),
+                    Settings.getInt("db_statement_cache_size", 64));
 
-        return connection;
+            Runtime.getRuntime().addShutdownHook(new Thread(pool::close, "connection-pool-shutdown"));
+            return pool;
+        }
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package com.revature.utility;
+
+import java.sql.SQLTransientException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Bounded pool the async DAOs run their blocking JDBC calls on. It defaults to the connection pool's size, so
+// queued queries wait in this queue rather than in threads parked on ConnectionPool.getConnection. Work on these
+// threads has no unit of work and auto-commits, which is why only reads are offered asynchronously.
+public class DbExecutor {
+
+    @FunctionalInterface
+    public interface SqlCall<T> {
+        T call() throws Exception;
+    }
+
+    private static final ThreadPoolExecutor executor = create();
+
+    private DbExecutor() {
+    }
+
+    // Failures complete the future with the DAO's own exception, so handlers can map it like a synchronous one
+    public static <T> CompletableFuture<T> supply(SqlCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    future.complete(call.call());
+                } catch (Exception e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new SQLTransientException("The database executor queue is full", e));
+        }
+        return future;
+    }
+
+    public static boolean isExecutorThread() {
+        return Thread.currentThread() instanceof ExecutorThread;
+    }
+
+    public static Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("threads", executor.getPoolSize());
+        stats.put("active", executor.getActiveCount());
+        stats.put("queued", executor.getQueue().size());
+        stats.put("completed", executor.getCompletedTaskCount());
+        return stats;
+    }
+
+    private static ThreadPoolExecutor create() {
+        int threads = Settings.getInt("db_executor_threads", Settings.getInt("db_pool_max_size", 10));
+        int queueSize = Settings.getInt("db_executor_queue_size", 1000);
+
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> new ExecutorThread(r, "db-executor-" + count.incrementAndGet()));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static class ExecutorThread extends Thread {
+        private ExecutorThread(Runnable r, String name) {
+            super(r, name);
+            setDaemon(true);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.revature.utility;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.IntPredicate;
+
+// Open-addressing int to int hash map with linear probing. Each slot packs the key into the high and the value
+// into the low 32 bits of one long, so readers never see a key paired with the wrong value and lookups neither
+// lock nor allocate. Writers are serialized; a reader racing a resize may briefly miss a freshly added key.
+// Keys must be positive because 0 and -1 mark empty and deleted slots.
+public class IntIntMap {
+
+    public static final int NO_VALUE = Integer.MIN_VALUE;
+
+    private static final long EMPTY = 0L;
+    private static final long DELETED = -1L;
+    private static final float MAX_LOAD = 0.6f;
+
+    private volatile AtomicLongArray slots;
+    private int size;
+    private int used;
+
+    public IntIntMap() {
+        this(1024);
+    }
+
+    public IntIntMap(int expectedSize) {
+        slots = new AtomicLongArray(capacityFor(expectedSize));
+    }
+
+    public int get(int key) {
+        if (key <= 0) {
+            // Never stored, and -1 would otherwise match a deleted slot
+            return NO_VALUE;
+        }
+
+        AtomicLongArray table = slots;
+        int mask = table.length() - 1;
+
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            long slot = table.get(i);
+            if (slot == EMPTY) {
+                return NO_VALUE;
+            }
+            if ((int) (slot >>> 32) == key) {
+                return (int) slot;
+            }
+        }
+    }
+
+    public synchronized void put(int key, int value) {
+        if (key <= 0) {
+            throw new IllegalArgumentException("Keys must be positive. Input was " + key);
+        }
+
+        AtomicLongArray table = slots;
+        int mask = table.length() - 1;
+        int target = -1;
+
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            long slot = table.get(i);
+            if (slot == EMPTY) {
+                if (target < 0) {
+                    target = i;
+                    used++;
+                }
+                break;
+            }
+            if (slot == DELETED) {
+                if (target < 0)
+                    target = i;
+                continue;
+            }
+            if ((int) (slot >>> 32) == key) {
+                table.set(i, pack(key, value));
+                return;
+            }
+        }
+
+        table.set(target, pack(key, value));
+        size++;
+
+        if (used > table.length() * MAX_LOAD) {
+            rehash(capacityFor(size * 2));
+        }
+    }
+
+    public synchronized boolean remove(int key) {
+        AtomicLongArray table = slots;
+        int mask = table.length() - 1;
+
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            long slot = table.get(i);
+            if (slot == EMPTY) {
+                return false;
+            }
+            if (slot != DELETED && (int) (slot >>> 32) == key) {
+                table.set(i, DELETED);
+                size--;
+                return true;
+            }
+        }
+    }
+
+    public synchronized int removeValues(IntPredicate valueMatches) {
+        AtomicLongArray table = slots;
+        int removed = 0;
+
+        for (int i = 0; i < table.length(); i++) {
+            long slot = table.get(i);
+            if (slot != EMPTY && slot != DELETED && valueMatches.test((int) slot)) {
+                table.set(i, DELETED);
+                removed++;
+            }
+        }
+
+        size -= removed;
+        return removed;
+    }
+
+    public synchronized void clear() {
+        slots = new AtomicLongArray(slots.length());
+        size = 0;
+        used = 0;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void rehash(int capacity) {
+        AtomicLongArray old = slots;
+        AtomicLongArray table = new AtomicLongArray(capacity);
+        int mask = capacity - 1;
+
+        for (int i = 0; i < old.length(); i++) {
+            long slot = old.get(i);
+            if (slot == EMPTY || slot == DELETED)
+                continue;
+
+            int j = hash((int) (slot >>> 32)) & mask;
+            while (table.get(j) != EMPTY) {
+                j = (j + 1) & mask;
+            }
+            table.set(j, slot);
+        }
+
+        used = size;
+        slots = table;
+    }
+
+    private static long pack(int key, int value) {
+        return ((long) key << 32) | (value & 0xFFFFFFFFL);
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        int needed = (int) Math.ceil(Math.max(expectedSize, 8) / MAX_LOAD) + 1;
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
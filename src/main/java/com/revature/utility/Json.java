@@ -0,0 +1,18 @@
+package com.revature.utility;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.javalin.plugin.json.JavalinJackson;
+
+// The one ObjectMapper the app serializes with. Javalin is configured with it as well, so handlers that encode
+// JSON themselves produce the same output as ctx.json.
+public class Json {
+
+    private static final ObjectMapper mapper = JavalinJackson.Companion.defaultMapper();
+
+    private Json() {
+    }
+
+    public static ObjectMapper mapper() {
+        return mapper;
+    }
+}
@@ -0,0 +1,39 @@
+package com.revature.utility;
+
+// Tuning knobs are read from environment variables, like the database credentials
+public class Settings {
+
+    private Settings() {
+    }
+
+    public static int getInt(String name, int defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Environment variable " + name + " must be a valid int. Input was " + value);
+        }
+    }
+
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+
+        return Boolean.parseBoolean(value.trim());
+    }
+
+    public static String getString(String name, String defaultValue) {
+        String value = System.getenv(name);
+        if (value == null || value.isBlank()) {
+            return defaultValue;
+        }
+
+        return value.trim();
+    }
+}
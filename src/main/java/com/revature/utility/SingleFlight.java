@@ -0,0 +1,89 @@
+package com.revature.utility;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+// Concurrent callers with the same key share one execution and its result or exception. Only overlapping calls
+// are shared and nothing is kept once the leader finishes, so anything that changes the answer, such as a
+// resource version, has to be part of the key.
+public class SingleFlight<K, V> {
+
+    @FunctionalInterface
+    public interface Call<V> {
+        V call() throws Exception;
+    }
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executions = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+
+    public V execute(K key, Call<V> call) throws Exception {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            collapsed.increment();
+            try {
+                return leader.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception)
+                    throw (Exception) e.getCause();
+                throw e;
+            }
+        }
+
+        executions.increment();
+        try {
+            V value = call.call();
+            mine.complete(value);
+            return value;
+        } catch (Exception e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // The call itself only starts the work; the key is released when the returned future completes
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            collapsed.increment();
+            return leader;
+        }
+
+        executions.increment();
+        CompletableFuture<V> started;
+        try {
+            started = call.get();
+        } catch (RuntimeException e) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+
+        started.whenComplete((value, e) -> {
+            inFlight.remove(key, mine);
+            if (e != null)
+                mine.completeExceptionally(e);
+            else
+                mine.complete(value);
+        });
+        return mine;
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("executions", executions.sum());
+        stats.put("collapsed", collapsed.sum());
+        stats.put("inFlight", inFlight.size());
+        return stats;
+    }
+}
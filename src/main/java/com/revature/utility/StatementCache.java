@@ -0,0 +1,83 @@
+package com.revature.utility;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Bounded LRU of prepared statements owned by a single physical connection.
+// A pooled connection is only ever used by one thread at a time, so no locking is needed.
+// Evicted statements are handed to the caller rather than closed, since the checkout that pushed one out
+// may still be using it.
+class StatementCache {
+
+    private final int maxSize;
+    private final LinkedHashMap<String, PreparedStatement> statements;
+    private final List<PreparedStatement> evicted = new ArrayList<>();
+
+    StatementCache(int maxSize) {
+        this.maxSize = maxSize;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() <= StatementCache.this.maxSize) {
+                    return false;
+                }
+
+                evicted.add(eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    static String key(String sql, int autoGeneratedKeys) {
+        return autoGeneratedKeys + ":" + sql;
+    }
+
+    PreparedStatement get(String key) {
+        return statements.get(key);
+    }
+
+    void put(String key, PreparedStatement stmt) {
+        statements.put(key, stmt);
+    }
+
+    void remove(String key) {
+        PreparedStatement stmt = statements.remove(key);
+        if (stmt != null) {
+            closeQuietly(stmt);
+        }
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    List<PreparedStatement> drainEvicted() {
+        if (evicted.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<PreparedStatement> drained = new ArrayList<>(evicted);
+        evicted.clear();
+        return drained;
+    }
+
+    void clear() {
+        for (PreparedStatement stmt : statements.values()) {
+            closeQuietly(stmt);
+        }
+        statements.clear();
+    }
+
+    static void closeQuietly(PreparedStatement stmt) {
+        try {
+            stmt.close();
+        } catch (SQLException e) {
+            // The statement is being discarded either way
+        }
+    }
+}
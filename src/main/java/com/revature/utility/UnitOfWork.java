@@ -0,0 +1,138 @@
+package com.revature.utility;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+// Request-scoped database transaction. The first DAO call in a request checks a connection out of the
+// pool and turns off auto-commit; every later DAO call on the same thread reuses it until end() commits
+// or rolls back once and returns the connection.
+public class UnitOfWork {
+
+    private static Logger logger = LoggerFactory.getLogger(UnitOfWork.class);
+
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    private final ConnectionPool pool;
+    private Connection connection;
+    private Connection shared;
+    private final List<Runnable> afterCommit = new ArrayList<>();
+
+    private UnitOfWork(ConnectionPool pool) {
+        this.pool = pool;
+    }
+
+    public static UnitOfWork begin() {
+        return begin(ConnectionUtility.getPool());
+    }
+
+    public static UnitOfWork begin(ConnectionPool pool) {
+        if (current.get() != null) {
+            logger.warn("A unit of work was left open on this thread and is being rolled back");
+            try {
+                end(false);
+            } catch (SQLException e) {
+                logger.warn("Failed to roll back abandoned unit of work. Exception message: " + e.getMessage());
+            }
+        }
+
+        UnitOfWork uow = new UnitOfWork(pool);
+        current.set(uow);
+        return uow;
+    }
+
+    public static UnitOfWork current() {
+        return current.get();
+    }
+
+    public static void end(boolean commit) throws SQLException {
+        UnitOfWork uow = current.get();
+        current.remove();
+        if (uow != null) {
+            uow.finish(commit);
+        }
+    }
+
+    // Runs the action once the current request's changes are visible to other connections, or right away when
+    // no unit of work is open and the DAOs are auto-committing
+    public static void afterCommit(Runnable action) {
+        UnitOfWork uow = current.get();
+        if (uow == null || uow.connection == null) {
+            action.run();
+        } else {
+            uow.afterCommit.add(action);
+        }
+    }
+
+    // Once the current request has used its connection, its reads have to go through it to see its own writes
+    public static boolean inTransaction() {
+        UnitOfWork uow = current.get();
+        return uow != null && uow.connection != null;
+    }
+
+    public boolean hasConnection() {
+        return connection != null;
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (connection == null) {
+            Connection con = pool.getConnection();
+            try {
+                con.setAutoCommit(false);
+            } catch (SQLException e) {
+                con.close();
+                throw e;
+            }
+
+            connection = con;
+            shared = (Connection) Proxy.newProxyInstance(UnitOfWork.class.getClassLoader(),
+                    new Class<?>[]{Connection.class}, (proxy, method, args) -> {
+                        // The DAOs close their connection after every call; the unit of work owns this one
+                        if (method.getName().equals("close"))
+                            return null;
+
+                        try {
+                            return method.invoke(con, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                    });
+        }
+
+        return shared;
+    }
+
+    private void finish(boolean commit) throws SQLException {
+        if (connection == null) {
+            return;
+        }
+
+        try {
+            if (commit)
+                connection.commit();
+            else
+                connection.rollback();
+        } finally {
+            connection.close();
+            connection = null;
+            shared = null;
+        }
+
+        if (commit) {
+            for (Runnable action : afterCommit) {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    logger.error("After-commit action failed", e);
+                }
+            }
+        }
+        afterCommit.clear();
+    }
+}
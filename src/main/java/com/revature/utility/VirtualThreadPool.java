@@ -0,0 +1,81 @@
+package com.revature.utility;
+
+import org.eclipse.jetty.util.component.AbstractLifeCycle;
+import org.eclipse.jetty.util.thread.ThreadPool;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Jetty thread pool that runs every task on a new virtual thread, so a request blocked on JDBC parks without
+// holding a carrier thread. Virtual threads need Java 21; the builder is looked up reflectively so the project
+// still compiles and runs on 17, where isSupported() is false and the platform pool is used instead.
+// The server manages the pool as a bean, so stopping the server stops the pool and releases join().
+public class VirtualThreadPool extends AbstractLifeCycle implements ThreadPool {
+
+    private static final ThreadFactory factory = lookupFactory();
+
+    private final AtomicInteger running = new AtomicInteger();
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    public VirtualThreadPool() {
+        if (factory == null) {
+            throw new IllegalStateException("Virtual threads are not available on this Java runtime");
+        }
+    }
+
+    public static boolean isSupported() {
+        return factory != null;
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        running.incrementAndGet();
+        factory.newThread(() -> {
+            try {
+                task.run();
+            } finally {
+                running.decrementAndGet();
+            }
+        }).start();
+    }
+
+    // There are no pooled threads to wait for; Server.join only needs this to block until the pool is stopped
+    @Override
+    public void join() throws InterruptedException {
+        stopped.await();
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        stopped.countDown();
+        super.doStop();
+    }
+
+    @Override
+    public int getThreads() {
+        return running.get();
+    }
+
+    @Override
+    public int getIdleThreads() {
+        return 0;
+    }
+
+    @Override
+    public boolean isLowOnThreads() {
+        return false;
+    }
+
+    private static ThreadFactory lookupFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "jetty-virtual-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Older runtime, or Java 19/20 without --enable-preview
+            return null;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- Schema changes applied on top of the original clients/accounts/transactions tables.
+-- Every statement is idempotent so the whole file can be re-run against an existing database.
+
+-- Keyset pagination walks each list in id order
+CREATE INDEX IF NOT EXISTS accounts_client_id_id_idx ON accounts (client_id, id);
+CREATE INDEX IF NOT EXISTS transactions_account_id_id_idx ON transactions (account_id, id);
+
+-- Row versions for optimistic concurrency; every UPDATE bumps them and If-Match compares against them
+ALTER TABLE accounts ADD COLUMN IF NOT EXISTS version integer NOT NULL DEFAULT 0;
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS version integer NOT NULL DEFAULT 0;
+
+-- Deposits to hot accounts are logged with balance_applied = false and folded into accounts.balance in batches
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS balance_applied boolean NOT NULL DEFAULT true;
+CREATE INDEX IF NOT EXISTS transactions_unapplied_idx ON transactions (account_id) WHERE NOT balance_applied;
+
+-- Responses to POSTs sent with an Idempotency-Key, so a retried request is answered without running again
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    scope text PRIMARY KEY,
+    status integer,
+    content_type text,
+    body bytea,
+    created_at timestamptz NOT NULL DEFAULT now()
+);
+CREATE INDEX IF NOT EXISTS idempotency_keys_created_at_idx ON idempotency_keys (created_at);
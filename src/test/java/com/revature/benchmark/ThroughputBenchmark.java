@@ -0,0 +1,86 @@
+package com.revature.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Closed-loop load generator for comparing server_thread_mode=platform against server_thread_mode=virtual.
+// Start the server in one mode, run this against a GET endpoint that reaches the database, then repeat in the
+// other mode. Not a unit test; run it with its main method:
+//   ThroughputBenchmark http://localhost:7000/clients/1/accounts 1000 30
+public class ThroughputBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 1) {
+            System.err.println("Usage: ThroughputBenchmark <url> [connections=1000] [seconds=30]");
+            return;
+        }
+
+        URI uri = URI.create(args[0]);
+        int connections = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        ExecutorService workers = Executors.newFixedThreadPool(connections);
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < connections; i++) {
+            futures.add(workers.submit(() -> {
+                Result result = new Result();
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() < 400)
+                            result.latencies.add(System.nanoTime() - start);
+                        else
+                            result.errors++;
+                    } catch (Exception e) {
+                        result.errors++;
+                    }
+                }
+                return result;
+            }));
+        }
+
+        List<Long> latencies = new ArrayList<>();
+        long errors = 0;
+        for (Future<Result> future : futures) {
+            Result result = future.get();
+            latencies.addAll(result.latencies);
+            errors += result.errors;
+        }
+        workers.shutdown();
+
+        Collections.sort(latencies);
+        System.out.println("connections: " + connections + ", duration: " + seconds + "s");
+        System.out.println("requests:    " + latencies.size() + " ok, " + errors + " failed");
+        System.out.println("throughput:  " + (latencies.size() / seconds) + " req/s");
+        if (!latencies.isEmpty()) {
+            System.out.println("latency p50: " + millis(latencies, 0.50) + "ms, p99: " + millis(latencies, 0.99) + "ms, max: " + millis(latencies, 1.0) + "ms");
+        }
+    }
+
+    private static long millis(List<Long> sorted, double percentile) {
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1_000_000;
+    }
+
+    private static class Result {
+        private final List<Long> latencies = new ArrayList<>();
+        private long errors;
+    }
+}
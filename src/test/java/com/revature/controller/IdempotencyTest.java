@@ -0,0 +1,218 @@
+package com.revature.controller;
+
+import com.revature.dao.IdempotencyDao;
+import com.revature.model.IdempotentResponse;
+import io.javalin.http.Context;
+import io.javalin.http.Handler;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class IdempotencyTest {
+
+    private static final String SCOPE = "POST /clients abc";
+    private static final byte[] BODY = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    private IdempotencyDao mockIdempotencyDao;
+    private Idempotency idempotency;
+    private AtomicInteger runs = new AtomicInteger();
+
+    @BeforeEach
+    public void setup() {
+        mockIdempotencyDao = mock(IdempotencyDao.class);
+        idempotency = new Idempotency(mockIdempotencyDao, 60000, 100);
+    }
+
+    // Context's methods are final, so it is built for real over mocked servlet objects
+    private static Context context(String key, int status) {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getHeader(Idempotency.HEADER)).thenReturn(key);
+        when(req.getMethod()).thenReturn("POST");
+        when(req.getRequestURI()).thenReturn("/clients");
+
+        HttpServletResponse res = mock(HttpServletResponse.class);
+        when(res.getStatus()).thenReturn(status);
+        when(res.getContentType()).thenReturn("application/json");
+        return new Context(req, res, new HashMap<>());
+    }
+
+    private static byte[] body(Context ctx) throws IOException {
+        return ctx.resultStream() == null ? null : ctx.resultStream().readAllBytes();
+    }
+
+    private Handler countingHandler() {
+        return ctx -> {
+            runs.incrementAndGet();
+            ctx.result(BODY);
+        };
+    }
+
+    @Test
+    public void test_wrap_withoutKeyAlwaysRuns() throws Exception {
+        Handler handler = idempotency.guard(countingHandler());
+
+        handler.handle(context(null, 201));
+        handler.handle(context(null, 201));
+
+        Assertions.assertEquals(2, runs.get());
+        verify(mockIdempotencyDao, never()).claim(anyString(), anyLong());
+    }
+
+    @Test
+    public void test_wrap_invalidKey() throws Exception {
+        Handler handler = idempotency.guard(countingHandler());
+        Context ctx = context(" ", 201);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> handler.handle(ctx));
+        Assertions.assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void test_wrap_replaysFromCache() throws Exception {
+        Handler handler = idempotency.guard(countingHandler());
+
+        handler.handle(context("abc", 201));
+        Context retry = context("abc", 201);
+        handler.handle(retry);
+
+        Assertions.assertEquals(1, runs.get());
+        verify(mockIdempotencyDao, times(1)).claim(eq(SCOPE), anyLong());
+        verify(mockIdempotencyDao).complete(eq(SCOPE), eq(new IdempotentResponse(201, "application/json", BODY)));
+        verify(retry.res).setStatus(201);
+        verify(retry.res).setHeader("Idempotent-Replayed", "true");
+        Assertions.assertArrayEquals(BODY, body(retry));
+    }
+
+    @Test
+    public void test_wrap_replaysFromTable() throws Exception {
+        when(mockIdempotencyDao.claim(eq(SCOPE), anyLong())).thenReturn(new IdempotentResponse(201, "application/json", BODY));
+        Handler handler = idempotency.guard(countingHandler());
+        Context retry = context("abc", 201);
+
+        handler.handle(retry);
+
+        Assertions.assertEquals(0, runs.get());
+        verify(retry.res).setHeader("Idempotent-Replayed", "true");
+        Assertions.assertArrayEquals(BODY, body(retry));
+        verify(mockIdempotencyDao, never()).complete(anyString(), any(IdempotentResponse.class));
+        Assertions.assertEquals(1L, idempotency.statistics().get("replayedFromDatabase"));
+    }
+
+    @Test
+    public void test_wrap_failedResponseIsNotRecorded() throws Exception {
+        Handler handler = idempotency.guard(countingHandler());
+
+        handler.handle(context("abc", 400));
+        handler.handle(context("abc", 400));
+
+        // Nothing was kept, so the retry claims the key and runs again
+        Assertions.assertEquals(2, runs.get());
+        verify(mockIdempotencyDao, times(2)).claim(eq(SCOPE), anyLong());
+        verify(mockIdempotencyDao, times(2)).release(SCOPE);
+        verify(mockIdempotencyDao, never()).complete(anyString(), any(IdempotentResponse.class));
+    }
+
+    @Test
+    public void test_wrap_redirectReleasesClaim() throws Exception {
+        Handler handler = idempotency.guard(countingHandler());
+
+        // A 3xx commits, so the placeholder row would otherwise be left without a status for the retry to replay
+        handler.handle(context("abc", 303));
+
+        verify(mockIdempotencyDao).release(SCOPE);
+        verify(mockIdempotencyDao, never()).complete(anyString(), any(IdempotentResponse.class));
+    }
+
+    // Stands in for the idempotency_keys row lock: a second claim of a key waits for the first request to finish
+    // and then sees its response, as it would after waiting on the uncommitted insert
+    private static class LockingIdempotencyDao extends IdempotencyDao {
+        private final Map<String, CompletableFuture<IdempotentResponse>> rows = new HashMap<>();
+
+        @Override
+        public IdempotentResponse claim(String scope, long ttlMillis) {
+            CompletableFuture<IdempotentResponse> row;
+            synchronized (rows) {
+                row = rows.get(scope);
+                if (row == null) {
+                    rows.put(scope, new CompletableFuture<>());
+                    return null;
+                }
+            }
+            return row.join();
+        }
+
+        @Override
+        public void complete(String scope, IdempotentResponse response) {
+            synchronized (rows) {
+                rows.get(scope).complete(response);
+            }
+        }
+    }
+
+    @Test
+    public void test_wrap_concurrentRetriesRunOnce() throws Exception {
+        Idempotency locking = new Idempotency(new LockingIdempotencyDao(), 60000, 100);
+        Handler handler = locking.guard(ctx -> {
+            runs.incrementAndGet();
+            Thread.sleep(50);
+            ctx.result(BODY);
+        });
+
+        List<Context> contexts = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            contexts.add(context("abc", 201));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(contexts.size());
+        try {
+            List<CompletableFuture<Void>> requests = new ArrayList<>();
+            for (Context ctx : contexts) {
+                requests.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        handler.handle(ctx);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(1, runs.get());
+        int replayed = 0;
+        for (Context ctx : contexts) {
+            try {
+                verify(ctx.res).setHeader("Idempotent-Replayed", "true");
+                replayed++;
+            } catch (AssertionError e) {
+                // The request that ran the handler
+            }
+        }
+        Assertions.assertEquals(3, replayed);
+    }
+}
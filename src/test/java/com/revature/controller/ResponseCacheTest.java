@@ -0,0 +1,94 @@
+package com.revature.controller;
+
+import com.revature.model.ChangeEvent;
+import io.javalin.http.Context;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ResponseCacheTest {
+
+    private AtomicInteger calls = new AtomicInteger();
+
+    // Context's methods are final, so it is built for real over mocked servlet objects
+    private static Context context(String path, String query) {
+        HttpServletRequest req = mock(HttpServletRequest.class);
+        when(req.getRequestURI()).thenReturn(path);
+        when(req.getQueryString()).thenReturn(query);
+        return new Context(req, mock(HttpServletResponse.class), new HashMap<>());
+    }
+
+    private static String body(Context ctx) throws IOException {
+        return new String(ctx.resultStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    private List<String> load() {
+        calls.incrementAndGet();
+        return Arrays.asList("a", "b");
+    }
+
+    @BeforeEach
+    public void setup() {
+        ResponseCache.onChange(new ChangeEvent(ChangeEvent.Entity.ALL, ChangeEvent.Action.UPDATED, 0, 0, 0));
+    }
+
+    @Test
+    public void test_serve_hitSkipsSupplier() throws Exception {
+        Context first = context("/clients/1/accounts", null);
+        Context second = context("/clients/1/accounts", null);
+
+        ResponseCache.serve(first, 1, this::load);
+        ResponseCache.serve(second, 1, this::load);
+
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals("[\"a\",\"b\"]", body(first));
+        Assertions.assertEquals("[\"a\",\"b\"]", body(second));
+        verify(second.res).setStatus(200);
+    }
+
+    @Test
+    public void test_serve_queryStringIsPartOfKey() throws Exception {
+        ResponseCache.serve(context("/clients", "limit=1"), ResponseCache.ALL_CLIENTS, this::load);
+        ResponseCache.serve(context("/clients", "limit=2"), ResponseCache.ALL_CLIENTS, this::load);
+
+        Assertions.assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void test_onChange_dropsOnlyAffectedClient() throws Exception {
+        Context first = context("/clients/1/accounts", null);
+        Context second = context("/clients/2/accounts", null);
+        ResponseCache.serve(first, 1, this::load);
+        ResponseCache.serve(second, 2, this::load);
+
+        ResponseCache.onChange(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.UPDATED, 1, 5, 5));
+        ResponseCache.serve(first, 1, this::load);
+        ResponseCache.serve(second, 2, this::load);
+
+        Assertions.assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void test_onChange_clientEventDropsClientList() throws Exception {
+        Context ctx = context("/clients", null);
+        ResponseCache.serve(ctx, ResponseCache.ALL_CLIENTS, this::load);
+
+        ResponseCache.onChange(new ChangeEvent(ChangeEvent.Entity.CLIENT, ChangeEvent.Action.CREATED, 9, 0, 9));
+        ResponseCache.serve(ctx, ResponseCache.ALL_CLIENTS, this::load);
+
+        Assertions.assertEquals(2, calls.get());
+    }
+}
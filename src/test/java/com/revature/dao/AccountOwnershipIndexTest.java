@@ -0,0 +1,68 @@
+package com.revature.dao;
+
+import com.revature.model.ChangeEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class AccountOwnershipIndexTest {
+
+    @AfterEach
+    public void tearDown() {
+        AccountOwnershipIndex.onChange(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.DELETED, 7, 41, 41));
+    }
+
+    @Test
+    public void test_isOwner_indexedAccount() {
+        AccountOwnershipIndex.onChange(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.CREATED, 7, 41, 41));
+
+        Assertions.assertTrue(AccountOwnershipIndex.isOwner(41, 7));
+        Assertions.assertFalse(AccountOwnershipIndex.isOwner(41, 8));
+    }
+
+    @Test
+    public void test_isOwner_unindexedAccountIsNotVouchedFor() {
+        Assertions.assertFalse(AccountOwnershipIndex.isOwner(42, Integer.MIN_VALUE));
+    }
+
+    @Test
+    public void test_isOwner_deletedSlotIsNotVouchedFor() {
+        AccountOwnershipIndex.onChange(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.CREATED, 7, 41, 41));
+        AccountOwnershipIndex.onChange(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.DELETED, 7, 41, 41));
+
+        Assertions.assertFalse(AccountOwnershipIndex.isOwner(-1, -1));
+        Assertions.assertFalse(AccountOwnershipIndex.isOwner(41, 7));
+    }
+
+    @Test
+    public void test_load_deleteDuringLoadIsNotOverwritten() throws Exception {
+        AccountOwnershipIndex.load(map -> {
+            // The rows were read before the delete committed
+            map.put(41, 7);
+            AccountOwnershipIndex.onChange(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.DELETED, 7, 41, 41));
+        });
+
+        Assertions.assertFalse(AccountOwnershipIndex.isOwner(41, 7));
+    }
+
+    @Test
+    public void test_load_createDuringLoadIsKept() throws Exception {
+        AccountOwnershipIndex.load(map -> {
+            map.put(43, 7);
+            AccountOwnershipIndex.onChange(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.CREATED, 7, 41, 41));
+        });
+
+        Assertions.assertTrue(AccountOwnershipIndex.isOwner(41, 7));
+        Assertions.assertTrue(AccountOwnershipIndex.isOwner(43, 7));
+    }
+
+    @Test
+    public void test_load_replacesStaleEntries() throws Exception {
+        AccountOwnershipIndex.onChange(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.CREATED, 7, 41, 41));
+
+        AccountOwnershipIndex.load(map -> map.put(43, 7));
+
+        Assertions.assertFalse(AccountOwnershipIndex.isOwner(41, 7));
+        Assertions.assertTrue(AccountOwnershipIndex.isOwner(43, 7));
+    }
+}
@@ -0,0 +1,53 @@
+package com.revature.dao;
+
+import com.revature.utility.BloomFilter;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ExistenceFilterTest {
+
+    private static BloomFilter idsOf(int... ids) {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+        for (int id : ids) {
+            filter.add(id);
+        }
+        return filter;
+    }
+
+    @Test
+    public void test_isKnownMissing_usesFilterUpToMaxId() {
+        ExistenceFilter filter = new ExistenceFilter("clients");
+        Assertions.assertTrue(filter.install(idsOf(1, 2, 4), 4, filter.getInvalidations()));
+
+        Assertions.assertFalse(filter.isKnownMissing(2));
+        Assertions.assertTrue(filter.isKnownMissing(3));
+        // Above the highest id it was built from, the filter has not been told about anything
+        Assertions.assertFalse(filter.isKnownMissing(5));
+    }
+
+    @Test
+    public void test_invalidate_stopsFilteringUntilRebuilt() {
+        ExistenceFilter filter = new ExistenceFilter("clients");
+        filter.install(idsOf(1, 2, 4), 4, filter.getInvalidations());
+        filter.recordMissing(7);
+
+        filter.invalidate();
+
+        Assertions.assertFalse(filter.isFiltering());
+        Assertions.assertFalse(filter.isKnownMissing(3));
+        Assertions.assertFalse(filter.isKnownMissing(7));
+    }
+
+    @Test
+    public void test_install_discardsFilterReadBeforeInvalidation() {
+        ExistenceFilter filter = new ExistenceFilter("clients");
+        long startedAt = filter.getInvalidations();
+
+        filter.invalidate();
+
+        Assertions.assertFalse(filter.install(idsOf(1, 2), 2, startedAt));
+        Assertions.assertFalse(filter.isFiltering());
+        Assertions.assertTrue(filter.install(idsOf(1, 2, 3), 3, filter.getInvalidations()));
+        Assertions.assertTrue(filter.isFiltering());
+    }
+}
@@ -0,0 +1,75 @@
+package com.revature.dao;
+
+import com.revature.model.Account;
+import com.revature.model.Client;
+import com.revature.model.FoldedDeposits;
+import com.revature.model.Transaction;
+import com.revature.utility.ConnectionUtility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.List;
+
+// Runs against the database configured through db_url, like ConnectionUtilityTest
+public class HotAccountDaoTest {
+
+    private ClientDao clientDao = new ClientDao();
+    private AccountDao accountDao = new AccountDao();
+    private HotAccountDao hotAccountDao = new HotAccountDao();
+
+    private int clientId;
+    private int accountId;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        clientId = clientDao.addClient(new Client(0, "Hot", "Test", "1 Test Street", "2000-01-01")).getId();
+        accountId = accountDao.addAccount(new Account(0, clientId, 100, "Checking")).getId();
+    }
+
+    @AfterEach
+    public void teardown() throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement transactions = con.prepareStatement("DELETE FROM transactions WHERE account_id = ?");
+            transactions.setInt(1, accountId);
+            transactions.executeUpdate();
+        }
+        accountDao.deleteAccount(accountId, clientId);
+        clientDao.deleteClient(clientId);
+    }
+
+    private int balanceWithPending() throws SQLException {
+        return hotAccountDao.getAccountsWithPending(new Integer[]{accountId}).get(0).getBalance();
+    }
+
+    @Test
+    public void test_getAccountsWithPending_includesWithdrawalsAndVersion() throws Exception {
+        hotAccountDao.addPendingDeposit(new Transaction(0, accountId, 25, "Deposit", "Pending", "2022-03-01"));
+        hotAccountDao.addPendingDeposit(new Transaction(0, accountId, 5, "Withdrawal", "Pending", "2022-03-01"));
+
+        List<Account> accounts = hotAccountDao.getAccountsWithPending(new Integer[]{accountId});
+
+        Assertions.assertEquals(1, accounts.size());
+        Account stored = accountDao.getAccount(accountId, clientId);
+        Assertions.assertEquals(new Account(accountId, clientId, 120, stored.getType(), stored.getVersion()), accounts.get(0));
+    }
+
+    @Test
+    public void test_fold_appliesPendingDepositsOnce() throws Exception {
+        hotAccountDao.addPendingDeposit(new Transaction(0, accountId, 40, "Deposit", "Pending", "2022-03-01"));
+        hotAccountDao.addPendingDeposit(new Transaction(0, accountId, 60, "Deposit", "Pending", "2022-03-01"));
+        Assertions.assertEquals(100, accountDao.getAccount(accountId, clientId).getBalance());
+        Assertions.assertEquals(200, balanceWithPending());
+
+        List<FoldedDeposits> folded = hotAccountDao.fold(new Integer[]{accountId});
+
+        Assertions.assertEquals(List.of(new FoldedDeposits(accountId, clientId, 100)), folded);
+        Assertions.assertEquals(200, balanceWithPending());
+        Assertions.assertEquals(200, accountDao.getAccount(accountId, clientId).getBalance());
+        Assertions.assertTrue(hotAccountDao.fold(new Integer[]{accountId}).isEmpty());
+    }
+}
@@ -0,0 +1,56 @@
+package com.revature.dao;
+
+import com.revature.model.ImportReport;
+import com.revature.utility.ConnectionUtility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+// Runs against the database configured through db_url, like ConnectionUtilityTest
+public class ImportDaoTest {
+
+    private ImportDao importDao = new ImportDao();
+
+    @AfterEach
+    public void teardown() throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement pstmt = con.prepareStatement("DELETE FROM clients WHERE last_name = 'Importtest'");
+            pstmt.executeUpdate();
+        }
+    }
+
+    // Each of these passes a YYYY-MM-DD pattern but would fail the ::date cast and abort the whole import
+    @Test
+    public void test_importClients_impossibleDatesAreRejected() throws Exception {
+        String csv = "first_name,last_name,address,date_of_birth\n" +
+                "Ann,Importtest,1 Main Street,1990-02-28\n" +
+                "Bob,Importtest,2 Main Street,2000-02-29\n" +
+                "Cal,Importtest,3 Main Street,1990-02-30\n" +
+                "Dee,Importtest,4 Main Street,1990-13-01\n" +
+                "Eve,Importtest,5 Main Street,1990-04-31\n" +
+                "Fay,Importtest,6 Main Street,0000-01-01\n" +
+                "Gus,Importtest,7 Main Street,1990-1-01\n";
+
+        ImportReport report = importDao.importClients(new StringReader(csv));
+
+        Assertions.assertEquals(7, report.getRowsLoaded());
+        Assertions.assertEquals(2, report.getRowsMerged());
+        Assertions.assertEquals(5, report.getRowsRejected());
+    }
+
+    @Test
+    public void test_importTransactions_impossibleDateIsRejected() throws Exception {
+        String csv = "account_id,amount,transaction_type,description,transaction_date\n" +
+                "0,100,Deposit,Paycheck,2021-02-29\n";
+
+        ImportReport report = importDao.importTransactions(new StringReader(csv));
+
+        Assertions.assertEquals(1, report.getRowsLoaded());
+        Assertions.assertEquals(0, report.getRowsMerged());
+    }
+}
@@ -0,0 +1,189 @@
+package com.revature.dao;
+
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.model.Account;
+import com.revature.model.Client;
+import com.revature.model.FoldedDeposits;
+import com.revature.model.Transaction;
+import com.revature.model.Transfer;
+import com.revature.utility.ConnectionUtility;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Runs against the database configured through db_url, like ConnectionUtilityTest
+public class TransferDaoTest {
+
+    private static final int STARTING_BALANCE = 1000;
+
+    private ClientDao clientDao = new ClientDao();
+    private AccountDao accountDao = new AccountDao();
+    private TransferDao transferDao = new TransferDao();
+
+    private int clientId;
+    private int firstAccountId;
+    private int secondAccountId;
+
+    @BeforeEach
+    public void setup() throws SQLException {
+        clientId = clientDao.addClient(new Client(0, "Transfer", "Test", "1 Test Street", "2000-01-01")).getId();
+        firstAccountId = accountDao.addAccount(new Account(0, clientId, STARTING_BALANCE, "Checking")).getId();
+        secondAccountId = accountDao.addAccount(new Account(0, clientId, STARTING_BALANCE, "Savings")).getId();
+    }
+
+    @AfterEach
+    public void teardown() throws SQLException {
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement transactions = con.prepareStatement("DELETE FROM transactions WHERE account_id IN (?, ?)");
+            transactions.setInt(1, firstAccountId);
+            transactions.setInt(2, secondAccountId);
+            transactions.executeUpdate();
+        }
+        accountDao.deleteAccount(firstAccountId, clientId);
+        accountDao.deleteAccount(secondAccountId, clientId);
+        clientDao.deleteClient(clientId);
+    }
+
+    @Test
+    public void test_transfer_movesBalanceAndRecordsBothSides() throws Exception {
+        Transfer completed = transferDao.transfer(new Transfer(firstAccountId, secondAccountId, 250, "Rent", "2022-03-01"));
+
+        Assertions.assertTrue(completed.getWithdrawalId() > 0);
+        Assertions.assertTrue(completed.getDepositId() > 0);
+        Assertions.assertEquals(STARTING_BALANCE - 250, accountDao.getAccount(firstAccountId, clientId).getBalance());
+        Assertions.assertEquals(STARTING_BALANCE + 250, accountDao.getAccount(secondAccountId, clientId).getBalance());
+    }
+
+    @Test
+    public void test_transfer_insufficientFundsLeavesBothAccountsUntouched() throws Exception {
+        Assertions.assertThrows(InsufficientFundsException.class, () -> {
+            transferDao.transfer(new Transfer(firstAccountId, secondAccountId, STARTING_BALANCE + 1, "Too much", "2022-03-01"));
+        });
+
+        Assertions.assertEquals(STARTING_BALANCE, accountDao.getAccount(firstAccountId, clientId).getBalance());
+        Assertions.assertEquals(STARTING_BALANCE, accountDao.getAccount(secondAccountId, clientId).getBalance());
+    }
+
+    @Test
+    public void test_transfer_missingAccountIsNotFound() throws Exception {
+        int missingAccountId = Integer.MAX_VALUE;
+
+        Assertions.assertThrows(AccountNotFoundException.class, () -> {
+            transferDao.transfer(new Transfer(firstAccountId, missingAccountId, 250, "Gone", "2022-03-01"));
+        });
+        Assertions.assertThrows(AccountNotFoundException.class, () -> {
+            transferDao.transfer(new Transfer(missingAccountId, firstAccountId, 250, "Gone", "2022-03-01"));
+        });
+
+        Assertions.assertEquals(STARTING_BALANCE, accountDao.getAccount(firstAccountId, clientId).getBalance());
+    }
+
+    // Opposing transfers between the same pair would deadlock if each side locked its source row first
+    @Test
+    public void test_transfer_concurrentOpposingTransfersConserveTotal() throws Exception {
+        int threads = 8;
+        int transfersPerThread = 50;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            boolean forward = i % 2 == 0;
+            results.add(executor.submit(() -> {
+                int rejected = 0;
+                for (int j = 0; j < transfersPerThread; j++) {
+                    int from = forward ? firstAccountId : secondAccountId;
+                    int to = forward ? secondAccountId : firstAccountId;
+                    try {
+                        transferDao.transfer(new Transfer(from, to, 7, "Stress", "2022-03-01"));
+                    } catch (InsufficientFundsException e) {
+                        rejected++;
+                    }
+                }
+                return rejected;
+            }));
+        }
+
+        int rejected = 0;
+        for (Future<Integer> result : results) {
+            // A deadlock would surface here as an SQLException from the driver
+            rejected += result.get();
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        int first = accountDao.getAccount(firstAccountId, clientId).getBalance();
+        int second = accountDao.getAccount(secondAccountId, clientId).getBalance();
+        Assertions.assertEquals(2 * STARTING_BALANCE, first + second);
+        Assertions.assertTrue(first >= 0 && second >= 0);
+
+        try (Connection con = ConnectionUtility.getConnection()) {
+            PreparedStatement pstmt = con.prepareStatement("SELECT count(*) FROM transactions WHERE account_id IN (?, ?)");
+            pstmt.setInt(1, firstAccountId);
+            pstmt.setInt(2, secondAccountId);
+            ResultSet rs = pstmt.executeQuery();
+            rs.next();
+            Assertions.assertEquals(2 * (threads * transfersPerThread - rejected), rs.getInt(1));
+        }
+    }
+
+    // The first account takes pending deposits like a hot account and every transfer folds them after locking both
+    // rows; folding before the lock would take the first row out of order and deadlock against opposing transfers
+    @Test
+    public void test_transfer_concurrentTransfersFoldingHotAccountConserveTotal() throws Exception {
+        int threads = 8;
+        int transfersPerThread = 50;
+        int deposit = 3;
+        HotAccountDao hotAccountDao = new HotAccountDao();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            boolean forward = i % 2 == 0;
+            results.add(executor.submit(() -> {
+                int rejected = 0;
+                for (int j = 0; j < transfersPerThread; j++) {
+                    hotAccountDao.addPendingDeposit(new Transaction(0, firstAccountId, deposit, "Deposit", "Pending", "2022-03-01"));
+
+                    int from = forward ? firstAccountId : secondAccountId;
+                    int to = forward ? secondAccountId : firstAccountId;
+                    try {
+                        transferDao.transfer(new Transfer(from, to, 7, "Stress", "2022-03-01"),
+                                con -> hotAccountDao.fold(con, new Integer[]{firstAccountId}).stream()
+                                        .collect(Collectors.toMap(FoldedDeposits::getAccountId, FoldedDeposits::getAmount)));
+                    } catch (InsufficientFundsException e) {
+                        rejected++;
+                    }
+                }
+                return rejected;
+            }));
+        }
+
+        for (Future<Integer> result : results) {
+            // A deadlock would surface here as an SQLException from the driver
+            result.get();
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        hotAccountDao.fold(new Integer[]{firstAccountId});
+        int first = accountDao.getAccount(firstAccountId, clientId).getBalance();
+        int second = accountDao.getAccount(secondAccountId, clientId).getBalance();
+        Assertions.assertEquals(2 * STARTING_BALANCE + threads * transfersPerThread * deposit, first + second);
+        Assertions.assertEquals(first, hotAccountDao.getAccountsWithPending(new Integer[]{firstAccountId}).get(0).getBalance());
+        Assertions.assertTrue(first >= 0 && second >= 0);
+    }
+}
@@ -4,6 +4,7 @@ import com.revature.dao.AccountDao;
 import com.revature.dao.ClientDao;
 import com.revature.exception.AccountNotFoundException;
 import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.PreconditionFailedException;
 import com.revature.model.Account;
 import com.revature.model.Client;
 import org.junit.jupiter.api.Assertions;
@@ -44,9 +45,9 @@ public class AccountServiceTest {
     }
 
     @Test
-    public void test_getAccount_clientNotFound() throws SQLException {
-        when(mockClientDao.getClient(eq(1)))
-                .thenReturn(null);
+    public void test_getAccount_clientNotFound() throws SQLException, ClientNotFoundException {
+        when(mockAccountDao.getAccount(eq(1), eq(1)))
+                .thenThrow(new ClientNotFoundException("Client with id 1 was not found"));
         Assertions.assertThrows(ClientNotFoundException.class, () -> {
             accountService.getAccount("1",  "1");
         });
@@ -67,7 +68,7 @@ public class AccountServiceTest {
     }
 
     @Test
-    public void test_getAccount_sqlException() throws SQLException {
+    public void test_getAccount_sqlException() throws SQLException, ClientNotFoundException {
         when(mockAccountDao.getAccount(eq(1), eq(1)))
                 .thenThrow(SQLException.class);
         Assertions.assertThrows(SQLException.class, () -> {
@@ -117,6 +118,18 @@ public class AccountServiceTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    @Test
+    public void test_filterByBalance_appliesStrictBounds() {
+        List<Account> accounts = new ArrayList<>();
+        accounts.add(new Account(1, 1, 10, "Savings"));
+        accounts.add(new Account(2, 1, 200, "Checking"));
+        accounts.add(new Account(3, 1, 2000, "Savings"));
+
+        List<Account> actual = AccountService.filterByBalance(accounts, balance -> balance > 10 && balance < 2000);
+
+        Assertions.assertEquals(List.of(new Account(2, 1, 200, "Checking")), actual);
+    }
+
     @Test
     public void test_addAccount_positive() throws SQLException, ClientNotFoundException {
         when(mockAccountDao.addAccount(new Account(0, 1, 100, "Savings")))
@@ -127,6 +140,15 @@ public class AccountServiceTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    @Test
+    public void test_addAccount_clientNotFound() throws SQLException {
+        when(mockClientDao.getClient(eq(1)))
+                .thenReturn(null);
+        Assertions.assertThrows(ClientNotFoundException.class, () -> {
+            accountService.addAccount("1", new Account(0, 0, 100, "Savings"));
+        });
+    }
+
     @Test
     public void test_addAccount_invalidAccountType() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
@@ -158,20 +180,37 @@ public class AccountServiceTest {
     }
 
     @Test
-    public void test_updateAccount_positive() throws SQLException, ClientNotFoundException, AccountNotFoundException {
-        when(mockAccountDao.updateAccount(new Account(1, 1, 200, "Savings")))
+    public void test_updateAccount_positive() throws SQLException, ClientNotFoundException, AccountNotFoundException, PreconditionFailedException {
+        when(mockAccountDao.updateAccount(new Account(1, 1, 200, "Savings"), null))
                 .thenReturn(true);
 
-        accountService.updateAccount("1", "1", new Account(0, 0, 200, "Savings"));
+        accountService.updateAccount("1", "1", new Account(0, 0, 200, "Savings"), null);
     }
 
     @Test
-    public void test_updateAccount_accountNotFound() throws SQLException {
-        when(mockAccountDao.updateAccount(new Account(1, 1, 200, "Savings")))
+    public void test_updateAccount_accountNotFound() throws SQLException, PreconditionFailedException {
+        when(mockAccountDao.updateAccount(new Account(1, 1, 200, "Savings"), null))
                 .thenReturn(false);
 
         Assertions.assertThrows(AccountNotFoundException.class, () -> {
-            accountService.updateAccount("1", "1", new Account(0, 0, 200, "Savings"));
+            accountService.updateAccount("1", "1", new Account(0, 0, 200, "Savings"), null);
+        });
+    }
+
+    @Test
+    public void test_updateAccount_versionConflict() throws SQLException, PreconditionFailedException {
+        when(mockAccountDao.updateAccount(new Account(1, 1, 200, "Savings"), 3))
+                .thenThrow(PreconditionFailedException.class);
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> {
+            accountService.updateAccount("1", "1", new Account(0, 0, 200, "Savings"), "\"3\"");
+        });
+    }
+
+    @Test
+    public void test_updateAccount_malformedIfMatch() {
+        Assertions.assertThrows(PreconditionFailedException.class, () -> {
+            accountService.updateAccount("1", "1", new Account(0, 0, 200, "Savings"), "W/\"3\"");
         });
     }
 }
@@ -0,0 +1,43 @@
+package com.revature.service;
+
+import com.revature.model.ChangeEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class ChangeEventsTest {
+
+    @Test
+    public void test_publish_dispatchesImmediatelyWithoutUnitOfWork() throws SQLException {
+        List<ChangeEvent> received = new ArrayList<>();
+        ChangeEvents.subscribe(received::add);
+
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.UPDATED, 1, 2, 2);
+        ChangeEvents.publish(event);
+
+        Assertions.assertTrue(received.contains(event));
+    }
+
+    @Test
+    public void test_decode_ignoresOwnEvents() {
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Entity.CLIENT, ChangeEvent.Action.DELETED, 5, 0, 5);
+
+        Assertions.assertNull(ChangeEvents.decode(ChangeEvents.encode(event)));
+    }
+
+    @Test
+    public void test_decode_eventFromOtherNode() {
+        ChangeEvent expected = new ChangeEvent(ChangeEvent.Entity.TRANSACTION, ChangeEvent.Action.CREATED, 1, 2, 3);
+
+        Assertions.assertEquals(expected, ChangeEvents.decode("other-node TRANSACTION CREATED 1 2 3"));
+    }
+
+    @Test
+    public void test_decode_malformedPayload() {
+        Assertions.assertNull(ChangeEvents.decode("other-node CLIENT"));
+        Assertions.assertNull(ChangeEvents.decode("other-node CLIENT RENAMED 1 0 1"));
+    }
+}
@@ -3,6 +3,7 @@ package com.revature.service;
 import com.revature.dao.ClientDao;
 import com.revature.exception.ClientNotFoundException;
 import com.revature.model.Client;
+import com.revature.model.Page;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.junit.jupiter.api.Test;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletionException;
 
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
@@ -41,6 +43,39 @@ public class ClientServiceTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    @Test
+    public void test_getClientsPage_hasNextCursor() throws SQLException {
+        List<Client> mockClients = new ArrayList<>();
+        mockClients.add(new Client(4, "John", "Doe", "1234 Abc Street", "2000-01-01"));
+        mockClients.add(new Client(5, "Jane", "Doe", "1234 Abc Street", "2000-01-01"));
+        mockClients.add(new Client(7, "Johnny", "Carson", "4321 Cba Drive", "2000-01-01"));
+
+        when(mockDao.getClientsAfter(eq(3), eq(3))).thenReturn(mockClients);
+
+        Page<Client> actual = clientService.getClients("3", "2");
+        Page<Client> expected = new Page<>(mockClients.subList(0, 2), 5);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void test_getClientsPage_lastPage() throws SQLException {
+        List<Client> mockClients = new ArrayList<>();
+        mockClients.add(new Client(7, "Johnny", "Carson", "4321 Cba Drive", "2000-01-01"));
+
+        when(mockDao.getClientsAfter(eq(5), eq(3))).thenReturn(mockClients);
+
+        Page<Client> actual = clientService.getClients("5", "2");
+        Page<Client> expected = new Page<>(mockClients, null);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void test_getClientsPage_invalidLimit() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            clientService.getClients(null, "0");
+        });
+    }
+
     @Test
     public void test_getClient_positive() throws SQLException, ClientNotFoundException {
         when(mockDao.getClient(eq(1)))
@@ -147,4 +182,30 @@ public class ClientServiceTest {
             clientService.updateClient("1", new Client(0, "John", "Doe", "1234 Abc Street", "2000-01-01"));
         });
     }
+
+    @Test
+    public void test_getClientAsync_positive() throws SQLException {
+        when(mockDao.getClient(eq(1))).thenReturn(new Client(1, "John", "Doe", "1234 Abc Street", "2000-01-01"));
+
+        Client actual = clientService.getClientAsync("1").join();
+        Client expected = new Client(1, "John", "Doe", "1234 Abc Street", "2000-01-01");
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void test_getClientAsync_clientNotFound() throws SQLException {
+        when(mockDao.getClient(eq(1))).thenReturn(null);
+
+        CompletionException e = Assertions.assertThrows(CompletionException.class, () -> {
+            clientService.getClientAsync("1").join();
+        });
+        Assertions.assertTrue(e.getCause() instanceof ClientNotFoundException);
+    }
+
+    @Test
+    public void test_getClientAsync_invalidId() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            clientService.getClientAsync("abc");
+        });
+    }
 }
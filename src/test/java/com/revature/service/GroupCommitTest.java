@@ -0,0 +1,227 @@
+package com.revature.service;
+
+import com.revature.dao.GroupCommitDao;
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.model.Transaction;
+import com.revature.utility.ConnectionPool;
+import com.revature.utility.UnitOfWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class GroupCommitTest {
+
+    private GroupCommit groupCommit;
+
+    // Hands out ids in order, treats account 13 as overdrawn and account 404 as deleted. Batches larger than
+    // failBatchesOver fail as a whole, the way a batch rolls back when one of its rows hits a constraint.
+    private static class FakeGroupCommitDao extends GroupCommitDao {
+        private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+        private final List<Integer> singleRows = new CopyOnWriteArrayList<>();
+        private int failBatchesOver = Integer.MAX_VALUE;
+        private int nextId = 1;
+        private CountDownLatch writing = new CountDownLatch(0);
+        private CountDownLatch release = new CountDownLatch(0);
+
+        @Override
+        public List<Integer> addTransactions(List<Transaction> transactions) throws SQLException {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                // Stopping the writer interrupts it; the batch is still written
+                Thread.currentThread().interrupt();
+            }
+
+            if (transactions.size() > failBatchesOver) {
+                throw new SQLException("batch rejected");
+            }
+
+            batchSizes.add(transactions.size());
+            List<Integer> ids = new ArrayList<>();
+            for (Transaction t : transactions) {
+                ids.add(t.getAccountId() == 13 || t.getAccountId() == 404 ? null : nextId++);
+            }
+            return ids;
+        }
+
+        @Override
+        public Integer addTransaction(Transaction transaction) throws SQLException {
+            singleRows.add(transaction.getAccountId());
+            return transaction.getAccountId() == 13 || transaction.getAccountId() == 404 ? null : nextId++;
+        }
+
+        @Override
+        public boolean accountExists(int accountId) {
+            return accountId != 404;
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        if (groupCommit != null)
+            groupCommit.stopWriter();
+        UnitOfWork.end(false);
+    }
+
+    private static Transaction deposit(int accountId) {
+        return new Transaction(0, accountId, 100, "Deposit", "Paycheck", "2022-01-01");
+    }
+
+    private List<CompletableFuture<Transaction>> submitConcurrently(int... accountIds) {
+        List<CompletableFuture<Transaction>> results = new ArrayList<>();
+        for (int accountId : accountIds) {
+            results.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return groupCommit.enqueue(deposit(accountId));
+                } catch (SQLException | InsufficientFundsException | AccountNotFoundException e) {
+                    throw new CompletionException(e);
+                }
+            }));
+        }
+        return results;
+    }
+
+    @Test
+    public void test_enqueue_notStartedReturnsNull() throws Exception {
+        groupCommit = new GroupCommit(new FakeGroupCommitDao(), 5, 100, 100, 1000);
+
+        Assertions.assertNull(groupCommit.enqueue(deposit(1)));
+    }
+
+    @Test
+    public void test_enqueue_queueFullReturnsNull() throws Exception {
+        groupCommit = new GroupCommit(new FakeGroupCommitDao(), 5, 100, 0, 1000);
+        groupCommit.startWriter();
+
+        Assertions.assertNull(groupCommit.enqueue(deposit(1)));
+        Assertions.assertEquals(1L, groupCommit.statistics().get("rejectedWhenFull"));
+    }
+
+    @Test
+    public void test_enqueue_inTransactionReturnsNull() throws Exception {
+        groupCommit = new GroupCommit(new FakeGroupCommitDao(), 5, 100, 100, 1000);
+        groupCommit.startWriter();
+
+        ConnectionPool pool = new ConnectionPool(() -> {
+            Connection con = mock(Connection.class);
+            when(con.isValid(anyInt())).thenReturn(true);
+            when(con.getAutoCommit()).thenReturn(true);
+            return con;
+        }, 0, 1, 60000, 50);
+        try {
+            UnitOfWork.begin(pool).getConnection();
+
+            Assertions.assertNull(groupCommit.enqueue(deposit(1)));
+        } finally {
+            UnitOfWork.end(false);
+            pool.close();
+        }
+    }
+
+    @Test
+    public void test_enqueue_batchesConcurrentRequests() {
+        FakeGroupCommitDao dao = new FakeGroupCommitDao();
+        groupCommit = new GroupCommit(dao, 200, 8, 100, 5000);
+        groupCommit.startWriter();
+
+        List<CompletableFuture<Transaction>> results = submitConcurrently(1, 2, 3, 4, 5, 6, 7, 8);
+
+        List<Integer> ids = new ArrayList<>();
+        for (CompletableFuture<Transaction> result : results) {
+            Transaction added = result.join();
+            Assertions.assertEquals(100, added.getAmount());
+            ids.add(added.getId());
+        }
+        Assertions.assertEquals(8, ids.stream().distinct().count());
+
+        // A full batch wakes the writer before the window is up, so all eight share one commit
+        Assertions.assertEquals(List.of(8), dao.batchSizes);
+        Assertions.assertEquals(1L, groupCommit.statistics().get("batches"));
+        Assertions.assertEquals(8L, groupCommit.statistics().get("rows"));
+    }
+
+    @Test
+    public void test_enqueue_overdrawnRowFailsAlone() {
+        groupCommit = new GroupCommit(new FakeGroupCommitDao(), 200, 3, 100, 5000);
+        groupCommit.startWriter();
+
+        List<CompletableFuture<Transaction>> results = submitConcurrently(1, 13, 2);
+
+        Assertions.assertNotNull(results.get(0).join());
+        Assertions.assertNotNull(results.get(2).join());
+        CompletionException e = Assertions.assertThrows(CompletionException.class, () -> results.get(1).join());
+        Assertions.assertTrue(e.getCause() instanceof InsufficientFundsException);
+    }
+
+    @Test
+    public void test_enqueue_deletedAccountIsNotFound() {
+        groupCommit = new GroupCommit(new FakeGroupCommitDao(), 200, 3, 100, 5000);
+        groupCommit.startWriter();
+
+        List<CompletableFuture<Transaction>> results = submitConcurrently(1, 404, 13);
+
+        Assertions.assertNotNull(results.get(0).join());
+        CompletionException missing = Assertions.assertThrows(CompletionException.class, () -> results.get(1).join());
+        Assertions.assertTrue(missing.getCause() instanceof AccountNotFoundException);
+        CompletionException overdrawn = Assertions.assertThrows(CompletionException.class, () -> results.get(2).join());
+        Assertions.assertTrue(overdrawn.getCause() instanceof InsufficientFundsException);
+    }
+
+    @Test
+    public void test_enqueue_failedBatchFallsBackToSingleRows() {
+        FakeGroupCommitDao dao = new FakeGroupCommitDao();
+        dao.failBatchesOver = 1;
+        groupCommit = new GroupCommit(dao, 200, 3, 100, 5000);
+        groupCommit.startWriter();
+
+        List<CompletableFuture<Transaction>> results = submitConcurrently(1, 2, 13);
+
+        Assertions.assertNotNull(results.get(0).join());
+        Assertions.assertNotNull(results.get(1).join());
+        CompletionException e = Assertions.assertThrows(CompletionException.class, () -> results.get(2).join());
+        Assertions.assertTrue(e.getCause() instanceof InsufficientFundsException);
+
+        Assertions.assertEquals(3, dao.singleRows.size());
+        Assertions.assertEquals(1L, groupCommit.statistics().get("batchFailures"));
+    }
+
+    @Test
+    public void test_stopWriter_handsQueuedRequestsBack() throws Exception {
+        FakeGroupCommitDao dao = new FakeGroupCommitDao();
+        dao.writing = new CountDownLatch(1);
+        dao.release = new CountDownLatch(1);
+        groupCommit = new GroupCommit(dao, 1, 1, 100, 30000);
+        groupCommit.startWriter();
+
+        // The first request's batch holds the writer, so the second one is still queued when it stops
+        CompletableFuture<Transaction> written = submitConcurrently(1).get(0);
+        Assertions.assertTrue(dao.writing.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Transaction> queued = submitConcurrently(2).get(0);
+        while (groupCommit.statistics().get("queued").equals(0)) {
+            Thread.sleep(1);
+        }
+
+        groupCommit.stopWriter();
+
+        // Handed back long before the 30s timeout, for the caller to insert on its own connection
+        Assertions.assertNull(queued.get(5, TimeUnit.SECONDS));
+        dao.release.countDown();
+        Assertions.assertNotNull(written.get(5, TimeUnit.SECONDS));
+    }
+}
@@ -0,0 +1,93 @@
+package com.revature.service;
+
+import com.revature.model.ChangeEvent;
+import com.revature.model.FoldedDeposits;
+import com.revature.utility.ConnectionPool;
+import com.revature.utility.UnitOfWork;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HotAccountsTest {
+
+    private List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        UnitOfWork.end(false);
+    }
+
+    private static long foldedTotal() {
+        return (Long) HotAccounts.stats().get("folded");
+    }
+
+    @Test
+    public void test_recordFolded_publishesAccountUpdates() throws SQLException {
+        ChangeEvents.subscribe(received::add);
+        long before = foldedTotal();
+
+        HotAccounts.recordFolded(List.of(new FoldedDeposits(31, 3, 250), new FoldedDeposits(32, 3, 50)));
+
+        Assertions.assertTrue(received.contains(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.UPDATED, 3, 31, 31)));
+        Assertions.assertTrue(received.contains(new ChangeEvent(ChangeEvent.Entity.ACCOUNT, ChangeEvent.Action.UPDATED, 3, 32, 32)));
+        Assertions.assertEquals(before + 300, foldedTotal());
+    }
+
+    @Test
+    public void test_recordFolded_waitsForCommit() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(() -> {
+            Connection con = mock(Connection.class);
+            when(con.isValid(anyInt())).thenReturn(true);
+            when(con.getAutoCommit()).thenReturn(true);
+            return con;
+        }, 0, 1, 60000, 50);
+        ChangeEvents.subscribe(received::add);
+        long before = foldedTotal();
+
+        try {
+            UnitOfWork.begin(pool).getConnection();
+            HotAccounts.recordFolded(List.of(new FoldedDeposits(33, 3, 100)));
+
+            Assertions.assertTrue(received.isEmpty());
+            Assertions.assertEquals(before, foldedTotal());
+
+            UnitOfWork.end(true);
+            Assertions.assertEquals(1, received.size());
+            Assertions.assertEquals(before + 100, foldedTotal());
+        } finally {
+            pool.close();
+        }
+    }
+
+    @Test
+    public void test_recordFolded_rolledBackFoldLeavesCountersAlone() throws SQLException {
+        ConnectionPool pool = new ConnectionPool(() -> {
+            Connection con = mock(Connection.class);
+            when(con.isValid(anyInt())).thenReturn(true);
+            when(con.getAutoCommit()).thenReturn(true);
+            return con;
+        }, 0, 1, 60000, 50);
+        ChangeEvents.subscribe(received::add);
+        long before = foldedTotal();
+
+        try {
+            UnitOfWork.begin(pool).getConnection();
+            HotAccounts.recordFolded(List.of(new FoldedDeposits(34, 3, 100)));
+            UnitOfWork.end(false);
+
+            Assertions.assertTrue(received.isEmpty());
+            Assertions.assertEquals(before, foldedTotal());
+        } finally {
+            pool.close();
+        }
+    }
+}
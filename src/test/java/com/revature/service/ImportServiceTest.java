@@ -0,0 +1,75 @@
+package com.revature.service;
+
+import com.revature.dao.ImportDao;
+import com.revature.model.ChangeEvent;
+import com.revature.model.ImportReport;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class ImportServiceTest {
+
+    private static final ChangeEvent RESET = new ChangeEvent(ChangeEvent.Entity.ALL, ChangeEvent.Action.UPDATED, 0, 0, 0);
+
+    private ImportDao mockImportDao;
+    private ImportService importService;
+    private List<ChangeEvent> received = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    public void setup() {
+        mockImportDao = mock(ImportDao.class);
+        importService = new ImportService(mockImportDao);
+        ChangeEvents.subscribe(received::add);
+    }
+
+    @Test
+    public void test_importCsv_clientsResetsCaches() throws SQLException, IOException {
+        Reader csv = new StringReader("first_name,last_name,address,date_of_birth\n");
+        ImportReport report = new ImportReport("clients", 3, 2, 10);
+        when(mockImportDao.importClients(csv)).thenReturn(report);
+
+        Assertions.assertEquals(report, importService.importCsv("clients", csv));
+        Assertions.assertTrue(received.contains(RESET));
+    }
+
+    @Test
+    public void test_importCsv_transactions() throws SQLException, IOException {
+        Reader csv = new StringReader("account_id,amount,transaction_type,description,transaction_date\n");
+        when(mockImportDao.importTransactions(any(Reader.class))).thenReturn(new ImportReport("transactions", 1, 1, 10));
+
+        importService.importCsv("transactions", csv);
+
+        verify(mockImportDao).importTransactions(csv);
+    }
+
+    @Test
+    public void test_importCsv_nothingMergedKeepsCaches() throws SQLException, IOException {
+        when(mockImportDao.importAccounts(any(Reader.class))).thenReturn(new ImportReport("accounts", 4, 0, 10));
+
+        ImportReport report = importService.importCsv("accounts", new StringReader(""));
+
+        Assertions.assertEquals(4, report.getRowsRejected());
+        Assertions.assertFalse(received.contains(RESET));
+    }
+
+    @Test
+    public void test_importCsv_unknownTable() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            importService.importCsv("users", new StringReader(""));
+        });
+        verifyNoInteractions(mockImportDao);
+    }
+}
@@ -0,0 +1,111 @@
+package com.revature.service;
+
+import com.revature.dao.AccountDao;
+import com.revature.dao.ClientDao;
+import com.revature.dao.TransactionDao;
+import com.revature.exception.ClientNotFoundException;
+import com.revature.model.Account;
+import com.revature.model.AccountOverview;
+import com.revature.model.Client;
+import com.revature.model.ClientOverview;
+import com.revature.model.Transaction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class OverviewServiceTest {
+
+    private ClientDao mockClientDao;
+    private AccountDao mockAccountDao;
+    private TransactionDao mockTransactionDao;
+    private OverviewService overviewService;
+
+    private Client client = new Client(1, "John", "Doe", "1234 Abc Street", "2000-01-01");
+    private Account checking = new Account(1, 1, 500, "Checking");
+    private Account savings = new Account(2, 1, 1000, "Savings");
+
+    @BeforeEach
+    public void setup() throws Exception {
+        mockClientDao = mock(ClientDao.class);
+        mockAccountDao = mock(AccountDao.class);
+        mockTransactionDao = mock(TransactionDao.class);
+        overviewService = new OverviewService(mockClientDao, mockAccountDao, mockTransactionDao, 200);
+
+        List<Account> accounts = new ArrayList<>();
+        accounts.add(checking);
+        accounts.add(savings);
+        when(mockClientDao.getClient(eq(1))).thenReturn(client);
+        when(mockAccountDao.getAccounts(eq(1))).thenReturn(accounts);
+    }
+
+    @Test
+    public void test_getOverview_positive() throws SQLException {
+        List<Transaction> checkingTransactions = new ArrayList<>();
+        checkingTransactions.add(new Transaction(2, 1, 50, "Withdrawal", "Groceries", "2022-03-02"));
+        when(mockTransactionDao.getRecentTransactions(eq(1), eq(5))).thenReturn(checkingTransactions);
+        when(mockTransactionDao.getRecentTransactions(eq(2), eq(5))).thenReturn(new ArrayList<>());
+
+        ClientOverview actual = overviewService.getOverview("1", null).join();
+
+        List<AccountOverview> accounts = new ArrayList<>();
+        accounts.add(new AccountOverview(checking, checkingTransactions, false));
+        accounts.add(new AccountOverview(savings, new ArrayList<>(), false));
+        ClientOverview expected = new ClientOverview(client, accounts, true);
+        Assertions.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void test_getOverview_slowAccountIsFlagged() throws SQLException {
+        when(mockTransactionDao.getRecentTransactions(eq(1), eq(5))).thenReturn(new ArrayList<>());
+        when(mockTransactionDao.getRecentTransactions(eq(2), eq(5))).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return new ArrayList<>();
+        });
+
+        ClientOverview actual = overviewService.getOverview("1", null).join();
+
+        Assertions.assertFalse(actual.isComplete());
+        Assertions.assertEquals(new AccountOverview(checking, new ArrayList<>(), false), actual.getAccounts().get(0));
+        Assertions.assertEquals(new AccountOverview(savings, null, true), actual.getAccounts().get(1));
+    }
+
+    @Test
+    public void test_getOverview_failedAccountIsFlagged() throws SQLException {
+        when(mockTransactionDao.getRecentTransactions(eq(1), eq(5))).thenThrow(new SQLException("connection reset"));
+        when(mockTransactionDao.getRecentTransactions(eq(2), eq(5))).thenReturn(new ArrayList<>());
+
+        ClientOverview actual = overviewService.getOverview("1", null).join();
+
+        Assertions.assertFalse(actual.isComplete());
+        Assertions.assertEquals(new AccountOverview(checking, null, true), actual.getAccounts().get(0));
+    }
+
+    @Test
+    public void test_getOverview_clientNotFound() throws SQLException {
+        when(mockClientDao.getClient(eq(1))).thenReturn(null);
+
+        CompletionException e = Assertions.assertThrows(CompletionException.class, () -> {
+            overviewService.getOverview("1", null).join();
+        });
+        Assertions.assertTrue(e.getCause() instanceof ClientNotFoundException);
+    }
+
+    @Test
+    public void test_getOverview_invalidArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            overviewService.getOverview("abc", null);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            overviewService.getOverview("1", "0");
+        });
+    }
+}
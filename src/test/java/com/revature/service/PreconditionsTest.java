@@ -0,0 +1,32 @@
+package com.revature.service;
+
+import com.revature.exception.PreconditionFailedException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PreconditionsTest {
+
+    @Test
+    public void test_parseIfMatch_unconditional() throws PreconditionFailedException {
+        Assertions.assertNull(Preconditions.parseIfMatch(null));
+        Assertions.assertNull(Preconditions.parseIfMatch(" * "));
+    }
+
+    @Test
+    public void test_parseIfMatch_bareVersion() throws PreconditionFailedException {
+        Assertions.assertEquals(Integer.valueOf(3), Preconditions.parseIfMatch("\"3\""));
+    }
+
+    // The tag sent with GET /clients/{client_id}/accounts/{account_id} is the row version followed by a resource tag
+    @Test
+    public void test_parseIfMatch_issuedEtag() throws PreconditionFailedException {
+        Assertions.assertEquals(Integer.valueOf(4), Preconditions.parseIfMatch("\"4/k2x9f.0.c3.a7-1b2c3d\""));
+    }
+
+    @Test
+    public void test_parseIfMatch_foreignTag() {
+        Assertions.assertThrows(PreconditionFailedException.class, () -> Preconditions.parseIfMatch("\"k2x9f.0.c3.a7-1b2c3d\""));
+        Assertions.assertThrows(PreconditionFailedException.class, () -> Preconditions.parseIfMatch("W/\"3\""));
+        Assertions.assertThrows(PreconditionFailedException.class, () -> Preconditions.parseIfMatch("3"));
+    }
+}
@@ -0,0 +1,43 @@
+package com.revature.service;
+
+import com.revature.model.ChangeEvent;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class ResourceVersionsTest {
+
+    @Test
+    public void test_transactionChange_bumpsClientAndAccount() {
+        String client = ResourceVersions.client(101);
+        String account = ResourceVersions.account(101, 201);
+        String otherAccount = ResourceVersions.account(102, 202);
+
+        ResourceVersions.onChange(new ChangeEvent(ChangeEvent.Entity.TRANSACTION, ChangeEvent.Action.CREATED, 101, 201, 7));
+
+        Assertions.assertNotEquals(client, ResourceVersions.client(101));
+        Assertions.assertNotEquals(account, ResourceVersions.account(101, 201));
+        Assertions.assertEquals(otherAccount, ResourceVersions.account(102, 202));
+    }
+
+    @Test
+    public void test_clientChange_bumpsClientListButNotAccounts() {
+        String list = ResourceVersions.clientList();
+        String client = ResourceVersions.client(103);
+
+        ResourceVersions.onChange(new ChangeEvent(ChangeEvent.Entity.CLIENT, ChangeEvent.Action.UPDATED, 103, 0, 103));
+
+        Assertions.assertNotEquals(list, ResourceVersions.clientList());
+        Assertions.assertNotEquals(client, ResourceVersions.client(103));
+    }
+
+    @Test
+    public void test_reset_changesEveryVersion() {
+        String list = ResourceVersions.clientList();
+        String account = ResourceVersions.account(104, 204);
+
+        ResourceVersions.onChange(new ChangeEvent(ChangeEvent.Entity.ALL, ChangeEvent.Action.UPDATED, 0, 0, 0));
+
+        Assertions.assertNotEquals(list, ResourceVersions.clientList());
+        Assertions.assertNotEquals(account, ResourceVersions.account(104, 204));
+    }
+}
@@ -5,9 +5,9 @@ import com.revature.dao.ClientDao;
 import com.revature.dao.TransactionDao;
 import com.revature.exception.AccountNotFoundException;
 import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.exception.PreconditionFailedException;
 import com.revature.exception.TransactionNotFoundException;
-import com.revature.model.Account;
-import com.revature.model.Client;
 import com.revature.model.Transaction;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,8 +17,12 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class TransactionServiceTest {
@@ -29,20 +33,16 @@ public class TransactionServiceTest {
     private TransactionService transactionService;
 
     @BeforeEach
-    public void setup() throws SQLException {
+    public void setup() {
         mockClientDao = mock(ClientDao.class);
         mockAccountDao = mock(AccountDao.class);
         mockTransactionDao = mock(TransactionDao.class);
         transactionService = new TransactionService(mockClientDao, mockAccountDao, mockTransactionDao);
-        when(mockClientDao.getClient(eq(1)))
-                .thenReturn(new Client(1, "John", "Doe", "1234 Abc Street", "2000-01-01"));
-        when(mockAccountDao.getAccount(eq(1), eq(1)))
-                .thenReturn(new Account(1, 1, 100, "Savings"));
     }
 
     @Test
     public void test_getTransaction_positive() throws SQLException, ClientNotFoundException, TransactionNotFoundException, AccountNotFoundException {
-        when(mockTransactionDao.getTransaction(eq(1),  eq(1)))
+        when(mockTransactionDao.getTransaction(eq(1), eq(1), eq(1)))
                 .thenReturn(new Transaction(1, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"));
 
         Transaction actual = transactionService.getTransaction("1", "1", "1");
@@ -51,18 +51,18 @@ public class TransactionServiceTest {
     }
 
     @Test
-    public void test_getTransaction_clientNotFound() throws SQLException {
-        when(mockClientDao.getClient(eq(1)))
-                .thenReturn(null);
+    public void test_getTransaction_clientNotFound() throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        when(mockTransactionDao.getTransaction(eq(1), eq(1), eq(1)))
+                .thenThrow(new ClientNotFoundException("Client with id 1 was not found"));
         Assertions.assertThrows(ClientNotFoundException.class, () -> {
             transactionService.getTransaction("1",  "1",  "1");
         });
     }
 
     @Test
-    public void test_getTransaction_accountNotFound() throws SQLException {
-        when(mockAccountDao.getAccount(eq(1), eq(1)))
-                .thenReturn(null);
+    public void test_getTransaction_accountNotFound() throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        when(mockTransactionDao.getTransaction(eq(1), eq(1), eq(1)))
+                .thenThrow(new AccountNotFoundException("Account with id 1 was not found for client with id 1"));
         Assertions.assertThrows(AccountNotFoundException.class, () -> {
             transactionService.getTransaction("1",  "1",  "1");
         });
@@ -83,8 +83,8 @@ public class TransactionServiceTest {
     }
 
     @Test
-    public void test_getTransaction_sqlException() throws SQLException {
-        when(mockTransactionDao.getTransaction(eq(1),  eq(1)))
+    public void test_getTransaction_sqlException() throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        when(mockTransactionDao.getTransaction(eq(1), eq(1), eq(1)))
                 .thenThrow(SQLException.class);
         Assertions.assertThrows(SQLException.class, () -> {
             transactionService.getTransaction("1",  "1", "1");
@@ -98,7 +98,7 @@ public class TransactionServiceTest {
         mockTransactions.add(new Transaction(2, 1, 100, "Withdrawal", "Test", "2000-01-01"));
         mockTransactions.add(new Transaction(3, 1, 100, "Deposit", "Payment", "2000-01-01"));
 
-        when(mockTransactionDao.getTransactions(1)).thenReturn(mockTransactions);
+        when(mockTransactionDao.getTransactions(1, 1)).thenReturn(mockTransactions);
 
         List<Transaction> actual = transactionService.getTransactions("1", "1");
         List<Transaction> expected = mockTransactions;
@@ -106,7 +106,7 @@ public class TransactionServiceTest {
     }
 
     @Test
-    public void test_addTransaction_positive() throws SQLException, ClientNotFoundException, AccountNotFoundException {
+    public void test_addTransaction_positive() throws SQLException, ClientNotFoundException, AccountNotFoundException, InsufficientFundsException {
         when(mockTransactionDao.addTransaction(new Transaction(0, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01")))
                 .thenReturn(new Transaction(1, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"));
 
@@ -115,6 +115,36 @@ public class TransactionServiceTest {
         Assertions.assertEquals(expected, actual);
     }
 
+    @Test
+    public void test_addTransaction_accountNotFound() throws SQLException, ClientNotFoundException, AccountNotFoundException {
+        doThrow(new AccountNotFoundException("Account with id 1 was not found for client with id 1"))
+                .when(mockAccountDao).checkOwnership(1, 1);
+
+        Assertions.assertThrows(AccountNotFoundException.class, () -> {
+            transactionService.addTransaction("1", "1", new Transaction(0, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"));
+        });
+    }
+
+    @Test
+    public void test_addTransaction_insufficientFunds() throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        when(mockTransactionDao.addTransaction(new Transaction(0, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01")))
+                .thenThrow(InsufficientFundsException.class);
+
+        Assertions.assertThrows(InsufficientFundsException.class, () -> {
+            transactionService.addTransaction("1", "1", new Transaction(0, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"));
+        });
+    }
+
+    @Test
+    public void test_addTransaction_accountDeletedBeforeInsert() throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        when(mockTransactionDao.addTransaction(new Transaction(0, 1, 100, "Deposit", "Paycheck", "2000-01-01")))
+                .thenThrow(AccountNotFoundException.class);
+
+        Assertions.assertThrows(AccountNotFoundException.class, () -> {
+            transactionService.addTransaction("1", "1", new Transaction(0, 1, 100, "Deposit", "Paycheck", "2000-01-01"));
+        });
+    }
+
     @Test
     public void test_addTransaction_invalidType() {
         Assertions.assertThrows(IllegalArgumentException.class, () -> {
@@ -130,14 +160,41 @@ public class TransactionServiceTest {
     }
 
     @Test
-    public void test_deleteTransaction_positive() throws SQLException, ClientNotFoundException, TransactionNotFoundException, AccountNotFoundException {
+    public void test_addTransactions_positive() throws SQLException, ClientNotFoundException, AccountNotFoundException, InsufficientFundsException {
+        List<Transaction> expectedInserts = new ArrayList<>();
+        expectedInserts.add(new Transaction(0, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"));
+        expectedInserts.add(new Transaction(0, 1, 250, "Deposit", "Payroll", "2000-01-02"));
+        when(mockTransactionDao.addTransactions(expectedInserts)).thenReturn(List.of(7, 8));
+
+        List<Transaction> feed = new ArrayList<>();
+        feed.add(new Transaction(0, 0, 100, " Withdrawal ", "Internet Bill Payment - VISA", "2000-01-01"));
+        feed.add(new Transaction(0, 0, 250, "Deposit", " Payroll", "2000-01-02"));
+
+        List<Integer> actual = transactionService.addTransactions("1", "1", feed.iterator());
+        Assertions.assertEquals(List.of(7, 8), actual);
+    }
+
+    @Test
+    public void test_addTransactions_invalidTransactionRejectsFeed() throws SQLException, InsufficientFundsException {
+        List<Transaction> feed = new ArrayList<>();
+        feed.add(new Transaction(0, 0, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"));
+        feed.add(new Transaction(0, 0, -5, "Deposit", "Payroll", "2000-01-02"));
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            transactionService.addTransactions("1", "1", feed.iterator());
+        });
+        verify(mockTransactionDao, never()).addTransactions(any());
+    }
+
+    @Test
+    public void test_deleteTransaction_positive() throws SQLException, ClientNotFoundException, TransactionNotFoundException, AccountNotFoundException, InsufficientFundsException {
         when(mockTransactionDao.deleteTransaction(1, 1)).thenReturn(true);
 
         transactionService.deleteTransaction("1", "1", "1");
     }
 
     @Test
-    public void test_deleteTransaction_transactionNotFound() throws SQLException {
+    public void test_deleteTransaction_transactionNotFound() throws SQLException, InsufficientFundsException {
         when(mockTransactionDao.deleteTransaction(1, 1)).thenReturn(false);
 
         Assertions.assertThrows(TransactionNotFoundException.class, () -> {
@@ -146,18 +203,27 @@ public class TransactionServiceTest {
     }
 
     @Test
-    public void test_updateTransaction_positive() throws SQLException, ClientNotFoundException, TransactionNotFoundException, AccountNotFoundException {
-        when(mockTransactionDao.updateTransaction(new Transaction(1, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"))).thenReturn(true);
+    public void test_updateTransaction_positive() throws SQLException, ClientNotFoundException, TransactionNotFoundException, AccountNotFoundException, PreconditionFailedException, InsufficientFundsException {
+        when(mockTransactionDao.updateTransaction(new Transaction(1, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"), null)).thenReturn(true);
 
-        transactionService.updateTransaction("1", "1", "1", new Transaction(0, 0, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"));
+        transactionService.updateTransaction("1", "1", "1", new Transaction(0, 0, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"), null);
     }
 
     @Test
-    public void test_updateTransaction_transactionNotFound() throws SQLException {
-        when(mockTransactionDao.updateTransaction(new Transaction(1, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"))).thenReturn(false);
+    public void test_updateTransaction_transactionNotFound() throws SQLException, PreconditionFailedException, InsufficientFundsException {
+        when(mockTransactionDao.updateTransaction(new Transaction(1, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"), null)).thenReturn(false);
 
         Assertions.assertThrows(TransactionNotFoundException.class, () -> {
-            transactionService.updateTransaction("1", "1", "1", new Transaction(0, 0, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"));
+            transactionService.updateTransaction("1", "1", "1", new Transaction(0, 0, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"), null);
+        });
+    }
+
+    @Test
+    public void test_updateTransaction_versionConflict() throws SQLException, PreconditionFailedException, InsufficientFundsException {
+        when(mockTransactionDao.updateTransaction(new Transaction(1, 1, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"), 2)).thenThrow(PreconditionFailedException.class);
+
+        Assertions.assertThrows(PreconditionFailedException.class, () -> {
+            transactionService.updateTransaction("1", "1", "1", new Transaction(0, 0, 100, "Withdrawal", "Internet Bill Payment - VISA", "2000-01-01"), "\"2\"");
         });
     }
 }
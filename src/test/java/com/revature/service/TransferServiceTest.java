@@ -0,0 +1,102 @@
+package com.revature.service;
+
+import com.revature.dao.AccountDao;
+import com.revature.dao.TransferDao;
+import com.revature.exception.AccountNotFoundException;
+import com.revature.exception.ClientNotFoundException;
+import com.revature.exception.InsufficientFundsException;
+import com.revature.model.Transfer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class TransferServiceTest {
+
+    private AccountDao mockAccountDao;
+    private TransferDao mockTransferDao;
+    private TransferService transferService;
+
+    @BeforeEach
+    public void setup() {
+        mockAccountDao = mock(AccountDao.class);
+        mockTransferDao = mock(TransferDao.class);
+        transferService = new TransferService(mockAccountDao, mockTransferDao);
+    }
+
+    @Test
+    public void test_addTransfer_positive() throws SQLException, ClientNotFoundException, AccountNotFoundException, InsufficientFundsException {
+        when(mockTransferDao.transfer(any(Transfer.class)))
+                .thenReturn(new Transfer(1, 2, 100, "Rent", "2022-03-01", 10, 11));
+
+        Transfer actual = transferService.addTransfer("1", new Transfer(1, 2, 100, " Rent ", "2022-03-01"));
+
+        Assertions.assertEquals(new Transfer(1, 2, 100, "Rent", "2022-03-01", 10, 11), actual);
+        verify(mockAccountDao).checkOwnership(eq(1), eq(1));
+        verify(mockAccountDao).checkOwnership(eq(2), eq(1));
+        verify(mockTransferDao).transfer(eq(new Transfer(1, 2, 100, "Rent", "2022-03-01")));
+    }
+
+    @Test
+    public void test_addTransfer_sameAccount() throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            transferService.addTransfer("1", new Transfer(1, 1, 100, "Rent", "2022-03-01"));
+        });
+        verify(mockTransferDao, never()).transfer(any(Transfer.class));
+    }
+
+    @Test
+    public void test_addTransfer_nonPositiveAmount() throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            transferService.addTransfer("1", new Transfer(1, 2, 0, "Rent", "2022-03-01"));
+        });
+        verify(mockTransferDao, never()).transfer(any(Transfer.class));
+    }
+
+    @Test
+    public void test_addTransfer_invalidClientId() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            transferService.addTransfer("abc", new Transfer(1, 2, 100, "Rent", "2022-03-01"));
+        });
+    }
+
+    @Test
+    public void test_addTransfer_destinationNotOwnedByClient() throws SQLException, ClientNotFoundException, AccountNotFoundException, InsufficientFundsException {
+        doThrow(new AccountNotFoundException("Account with id 2 was not found for client with id 1"))
+                .when(mockAccountDao).checkOwnership(eq(2), eq(1));
+
+        Assertions.assertThrows(AccountNotFoundException.class, () -> {
+            transferService.addTransfer("1", new Transfer(1, 2, 100, "Rent", "2022-03-01"));
+        });
+        verify(mockTransferDao, never()).transfer(any(Transfer.class));
+    }
+
+    @Test
+    public void test_addTransfer_insufficientFunds() throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        when(mockTransferDao.transfer(any(Transfer.class)))
+                .thenThrow(new InsufficientFundsException("Account with id 1 has insufficient funds for a transfer of 100"));
+
+        Assertions.assertThrows(InsufficientFundsException.class, () -> {
+            transferService.addTransfer("1", new Transfer(1, 2, 100, "Rent", "2022-03-01"));
+        });
+    }
+
+    @Test
+    public void test_addTransfer_accountDeletedBeforeTransfer() throws SQLException, InsufficientFundsException, AccountNotFoundException {
+        when(mockTransferDao.transfer(any(Transfer.class)))
+                .thenThrow(AccountNotFoundException.withoutStackTrace("Account with id 2 was not found"));
+
+        Assertions.assertThrows(AccountNotFoundException.class, () -> {
+            transferService.addTransfer("1", new Transfer(1, 2, 100, "Rent", "2022-03-01"));
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.revature.utility;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class BatchLoaderTest {
+
+    private List<List<Integer>> calls = new CopyOnWriteArrayList<>();
+
+    // Squares every key except 13, which behaves like an id with no row
+    private Map<Integer, Integer> squares(List<Integer> keys) {
+        calls.add(keys);
+        Map<Integer, Integer> values = new HashMap<>();
+        for (int key : keys) {
+            if (key != 13)
+                values.put(key, key * key);
+        }
+        return values;
+    }
+
+    @Test
+    public void test_load_coalescesKeysWithinWindow() {
+        BatchLoader<Integer, Integer> loader = new BatchLoader<>(50000, 100, this::squares);
+
+        List<CompletableFuture<Integer>> futures = new ArrayList<>();
+        for (int i = 1; i <= 10; i++) {
+            futures.add(loader.load(i));
+        }
+
+        for (int i = 1; i <= 10; i++) {
+            Assertions.assertEquals(Integer.valueOf(i * i), futures.get(i - 1).join());
+        }
+        Assertions.assertEquals(1, calls.size());
+        Assertions.assertEquals(10, calls.get(0).size());
+    }
+
+    @Test
+    public void test_load_deduplicatesKeysAndReturnsNullForMissing() {
+        BatchLoader<Integer, Integer> loader = new BatchLoader<>(50000, 100, this::squares);
+
+        CompletableFuture<Integer> first = loader.load(4);
+        CompletableFuture<Integer> second = loader.load(4);
+        CompletableFuture<Integer> missing = loader.load(13);
+
+        Assertions.assertEquals(Integer.valueOf(16), first.join());
+        Assertions.assertEquals(Integer.valueOf(16), second.join());
+        Assertions.assertNull(missing.join());
+        Assertions.assertEquals(2, calls.get(0).size());
+    }
+
+    @Test
+    public void test_load_flushesAFullBatchWithoutWaiting() {
+        BatchLoader<Integer, Integer> loader = new BatchLoader<>(60_000_000, 3, this::squares);
+
+        CompletableFuture<Integer> a = loader.load(1);
+        CompletableFuture<Integer> b = loader.load(2);
+        CompletableFuture<Integer> c = loader.load(3);
+
+        Assertions.assertEquals(Integer.valueOf(9), c.join());
+        Assertions.assertEquals(Integer.valueOf(1), a.join());
+        Assertions.assertEquals(Integer.valueOf(4), b.join());
+    }
+
+    @Test
+    public void test_get_rethrowsBulkLoadFailure() {
+        BatchLoader<Integer, Integer> loader = new BatchLoader<>(1000, 100, keys -> {
+            throw new SQLException("connection reset");
+        });
+
+        SQLException e = Assertions.assertThrows(SQLException.class, () -> loader.get(1));
+        Assertions.assertEquals("connection reset", e.getMessage());
+        Assertions.assertThrows(CompletionException.class, () -> loader.load(2).join());
+    }
+
+    @Test
+    public void test_invalidConstructorArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new BatchLoader<Integer, Integer>(1000, 0, this::squares);
+        });
+    }
+}
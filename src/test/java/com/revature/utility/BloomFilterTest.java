@@ -0,0 +1,40 @@
+package com.revature.utility;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BloomFilterTest {
+
+    @Test
+    public void test_mightContain_trueForEveryAddedKey() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 1; i <= 10000; i++) {
+            filter.add(i);
+        }
+
+        for (int i = 1; i <= 10000; i++) {
+            Assertions.assertTrue(filter.mightContain(i));
+        }
+    }
+
+    @Test
+    public void test_mightContain_falsePositiveRateNearTarget() {
+        BloomFilter filter = new BloomFilter(10000, 0.01);
+        for (int i = 1; i <= 10000; i++) {
+            filter.add(i);
+        }
+
+        int falsePositives = 0;
+        for (int i = 10001; i <= 110000; i++) {
+            if (filter.mightContain(i))
+                falsePositives++;
+        }
+
+        Assertions.assertTrue(falsePositives < 2000, "False positives: " + falsePositives);
+    }
+
+    @Test
+    public void test_invalidFalsePositiveRate() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.5));
+    }
+}
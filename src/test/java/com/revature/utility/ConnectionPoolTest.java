@@ -0,0 +1,157 @@
+package com.revature.utility;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ConnectionPoolTest {
+
+    private List<Connection> created = new ArrayList<>();
+    private List<PreparedStatement> prepared = new ArrayList<>();
+    private ConnectionPool pool;
+
+    private Connection newMockConnection() throws SQLException {
+        Connection con = mock(Connection.class);
+        when(con.isValid(anyInt())).thenReturn(true);
+        when(con.getAutoCommit()).thenReturn(true);
+        when(con.prepareStatement(anyString())).thenAnswer(invocation -> {
+            PreparedStatement stmt = mock(PreparedStatement.class);
+            prepared.add(stmt);
+            return stmt;
+        });
+        created.add(con);
+        return con;
+    }
+
+    @AfterEach
+    public void teardown() {
+        if (pool != null)
+            pool.close();
+    }
+
+    @Test
+    public void test_getConnection_reusesReturnedConnection() throws SQLException {
+        pool = new ConnectionPool(this::newMockConnection, 0, 2, 60000, 1000);
+
+        Connection first = pool.getConnection();
+        first.close();
+        Connection second = pool.getConnection();
+        second.close();
+
+        Assertions.assertEquals(1, created.size());
+        verify(created.get(0), never()).close();
+    }
+
+    @Test
+    public void test_getConnection_timesOutWhenExhausted() throws SQLException {
+        pool = new ConnectionPool(this::newMockConnection, 0, 1, 60000, 50);
+
+        Connection held = pool.getConnection();
+        Assertions.assertThrows(SQLTimeoutException.class, () -> pool.getConnection());
+
+        held.close();
+        pool.getConnection().close();
+    }
+
+    @Test
+    public void test_close_isIdempotentAndBlocksFurtherUse() throws SQLException {
+        pool = new ConnectionPool(this::newMockConnection, 0, 1, 60000, 50);
+
+        Connection con = pool.getConnection();
+        con.close();
+        con.close();
+
+        Assertions.assertTrue(con.isClosed());
+        Assertions.assertThrows(SQLException.class, () -> con.createStatement());
+        Assertions.assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    public void test_prepareStatement_reusesCachedStatementAcrossCheckouts() throws SQLException {
+        pool = new ConnectionPool(this::newMockConnection, 0, 1, 60000, 50, 8);
+        String sql = "SELECT * FROM clients WHERE id = ?";
+
+        for (int i = 0; i < 3; i++) {
+            try (Connection con = pool.getConnection()) {
+                PreparedStatement pstmt = con.prepareStatement(sql);
+                pstmt.setInt(1, i);
+                pstmt.close();
+            }
+        }
+
+        verify(created.get(0), times(1)).prepareStatement(sql);
+        Assertions.assertEquals(1, pool.getStatementCacheMisses());
+        Assertions.assertEquals(2, pool.getStatementCacheHits());
+    }
+
+    @Test
+    public void test_prepareStatement_evictsLeastRecentlyUsed() throws SQLException {
+        pool = new ConnectionPool(this::newMockConnection, 0, 1, 60000, 50, 2);
+
+        try (Connection con = pool.getConnection()) {
+            con.prepareStatement("SELECT 1");
+            con.prepareStatement("SELECT 2");
+            con.prepareStatement("SELECT 3");
+        }
+
+        Assertions.assertEquals(1, pool.getStatementCacheEvictions());
+    }
+
+    @Test
+    public void test_prepareStatement_evictedStatementStaysUsableUntilReleased() throws SQLException {
+        pool = new ConnectionPool(this::newMockConnection, 0, 1, 60000, 50, 2);
+
+        try (Connection con = pool.getConnection()) {
+            PreparedStatement first = con.prepareStatement("SELECT 1");
+            con.prepareStatement("SELECT 2");
+            con.prepareStatement("SELECT 3");
+
+            Assertions.assertEquals(1, pool.getStatementCacheEvictions());
+            verify(prepared.get(0), never()).close();
+
+            first.setInt(1, 1);
+            first.executeQuery();
+            verify(prepared.get(0)).executeQuery();
+        }
+
+        verify(prepared.get(0)).close();
+        verify(prepared.get(1), never()).close();
+    }
+
+    @Test
+    public void test_prepareStatement_evictedIdleStatementClosedRightAway() throws SQLException {
+        pool = new ConnectionPool(this::newMockConnection, 0, 1, 60000, 50, 2);
+
+        try (Connection con = pool.getConnection()) {
+            con.prepareStatement("SELECT 1");
+            con.prepareStatement("SELECT 2");
+        }
+
+        try (Connection con = pool.getConnection()) {
+            con.prepareStatement("SELECT 3");
+            verify(prepared.get(0)).close();
+        }
+    }
+
+    @Test
+    public void test_invalidConstructorArguments() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            new ConnectionPool(this::newMockConnection, 3, 2, 60000, 50);
+        });
+    }
+}
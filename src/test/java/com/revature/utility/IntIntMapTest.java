@@ -0,0 +1,80 @@
+package com.revature.utility;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class IntIntMapTest {
+
+    @Test
+    public void test_putAndGet() {
+        IntIntMap map = new IntIntMap(4);
+        map.put(1, 10);
+        map.put(2, -20);
+        map.put(1, 11);
+
+        Assertions.assertEquals(11, map.get(1));
+        Assertions.assertEquals(-20, map.get(2));
+        Assertions.assertEquals(IntIntMap.NO_VALUE, map.get(3));
+        Assertions.assertEquals(2, map.size());
+    }
+
+    @Test
+    public void test_put_growsPastInitialCapacity() {
+        IntIntMap map = new IntIntMap(4);
+        for (int i = 1; i <= 10000; i++) {
+            map.put(i, i * 3);
+        }
+
+        for (int i = 1; i <= 10000; i++) {
+            Assertions.assertEquals(i * 3, map.get(i));
+        }
+        Assertions.assertEquals(10000, map.size());
+    }
+
+    @Test
+    public void test_remove_keepsProbeChainsIntact() {
+        IntIntMap map = new IntIntMap(4);
+        for (int i = 1; i <= 100; i++) {
+            map.put(i, i);
+        }
+
+        for (int i = 1; i <= 100; i += 2) {
+            Assertions.assertTrue(map.remove(i));
+        }
+
+        for (int i = 1; i <= 100; i++) {
+            Assertions.assertEquals(i % 2 == 0 ? i : IntIntMap.NO_VALUE, map.get(i));
+        }
+        Assertions.assertFalse(map.remove(1));
+        Assertions.assertEquals(50, map.size());
+    }
+
+    @Test
+    public void test_removeValues() {
+        IntIntMap map = new IntIntMap();
+        map.put(1, 7);
+        map.put(2, 8);
+        map.put(3, 7);
+
+        Assertions.assertEquals(2, map.removeValues(v -> v == 7));
+        Assertions.assertEquals(IntIntMap.NO_VALUE, map.get(1));
+        Assertions.assertEquals(8, map.get(2));
+    }
+
+    @Test
+    public void test_put_rejectsNonPositiveKeys() {
+        IntIntMap map = new IntIntMap();
+        Assertions.assertThrows(IllegalArgumentException.class, () -> map.put(0, 1));
+    }
+
+    @Test
+    public void test_get_nonPositiveKeysAreMissing() {
+        IntIntMap map = new IntIntMap(4);
+        map.put(1, 10);
+        map.remove(1);
+
+        Assertions.assertEquals(IntIntMap.NO_VALUE, map.get(-1));
+        Assertions.assertEquals(IntIntMap.NO_VALUE, map.get(0));
+        Assertions.assertEquals(IntIntMap.NO_VALUE, map.get(Integer.MIN_VALUE));
+    }
+}
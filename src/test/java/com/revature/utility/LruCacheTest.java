@@ -0,0 +1,56 @@
+package com.revature.utility;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LruCacheTest {
+
+    private long now = 0;
+
+    @Test
+    public void test_get_hitAndMiss() {
+        LruCache<Integer, String> cache = new LruCache<>(10, 1000, () -> now);
+        cache.put(1, "one");
+
+        Assertions.assertEquals("one", cache.get(1));
+        Assertions.assertNull(cache.get(2));
+        Assertions.assertEquals(1, cache.stats().getHits());
+        Assertions.assertEquals(1, cache.stats().getMisses());
+    }
+
+    @Test
+    public void test_put_evictsLeastRecentlyUsed() {
+        LruCache<Integer, String> cache = new LruCache<>(2, 1000, () -> now);
+        cache.put(1, "one");
+        cache.put(2, "two");
+        cache.get(1);
+        cache.put(3, "three");
+
+        Assertions.assertEquals("one", cache.get(1));
+        Assertions.assertNull(cache.get(2));
+        Assertions.assertEquals(1, cache.stats().getEvictions());
+    }
+
+    @Test
+    public void test_get_expiresAfterTtl() {
+        LruCache<Integer, String> cache = new LruCache<>(10, 1000, () -> now);
+        cache.put(1, "one");
+
+        now = 1000;
+
+        Assertions.assertNull(cache.get(1));
+        Assertions.assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void test_invalidateIf() {
+        LruCache<Integer, String> cache = new LruCache<>(10, 1000, () -> now);
+        cache.put(1, "one");
+        cache.put(2, "two");
+
+        cache.invalidateIf((key, value) -> value.startsWith("t"));
+
+        Assertions.assertEquals("one", cache.get(1));
+        Assertions.assertNull(cache.get(2));
+    }
+}
@@ -0,0 +1,96 @@
+package com.revature.utility;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SingleFlightTest {
+
+    private SingleFlight<String, String> flight = new SingleFlight<>();
+
+    @Test
+    public void test_execute_sharesOneCallAmongOverlappingCallers() throws Exception {
+        int callers = 8;
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < callers; i++) {
+            results.add(executor.submit(() -> flight.execute("key", () -> {
+                calls.incrementAndGet();
+                release.await();
+                return "value";
+            })));
+        }
+
+        // Let every caller reach the flight before the leader finishes
+        while ((long) flight.stats().get("collapsed") < callers - 1) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+
+        for (Future<String> result : results) {
+            Assertions.assertEquals("value", result.get());
+        }
+        executor.shutdown();
+        Assertions.assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(0, flight.stats().get("inFlight"));
+    }
+
+    @Test
+    public void test_execute_runsAgainOnceTheLeaderIsDone() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+
+        flight.execute("key", () -> "first " + calls.incrementAndGet());
+        String second = flight.execute("key", () -> "second " + calls.incrementAndGet());
+
+        Assertions.assertEquals("second 2", second);
+        Assertions.assertEquals(0L, flight.stats().get("collapsed"));
+    }
+
+    @Test
+    public void test_execute_propagatesTheLeadersException() {
+        SQLException e = Assertions.assertThrows(SQLException.class, () -> {
+            flight.execute("key", () -> {
+                throw new SQLException("connection reset");
+            });
+        });
+
+        Assertions.assertEquals("connection reset", e.getMessage());
+        Assertions.assertEquals(0, flight.stats().get("inFlight"));
+    }
+
+    @Test
+    public void test_executeAsync_sharesTheLeadersFuture() {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = flight.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return pending;
+        });
+        CompletableFuture<String> second = flight.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        pending.complete("value");
+
+        Assertions.assertEquals("value", first.join());
+        Assertions.assertEquals("value", second.join());
+        Assertions.assertEquals(1, calls.get());
+        Assertions.assertEquals(0, flight.stats().get("inFlight"));
+    }
+}
@@ -0,0 +1,81 @@
+package com.revature.utility;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UnitOfWorkTest {
+
+    private List<Connection> created = new ArrayList<>();
+    private ConnectionPool pool;
+
+    @BeforeEach
+    public void setup() {
+        pool = new ConnectionPool(() -> {
+            Connection con = mock(Connection.class);
+            when(con.isValid(anyInt())).thenReturn(true);
+            created.add(con);
+            return con;
+        }, 0, 2, 60000, 50);
+    }
+
+    @AfterEach
+    public void teardown() throws SQLException {
+        UnitOfWork.end(false);
+        pool.close();
+    }
+
+    @Test
+    public void test_getConnection_sharesOneConnectionAndCommitsOnce() throws SQLException {
+        UnitOfWork uow = UnitOfWork.begin(pool);
+
+        Connection first = uow.getConnection();
+        first.close();
+        Connection second = uow.getConnection();
+        second.close();
+
+        Assertions.assertEquals(1, created.size());
+        Assertions.assertEquals(1, pool.getActiveCount());
+
+        UnitOfWork.end(true);
+
+        verify(created.get(0)).setAutoCommit(false);
+        verify(created.get(0), times(1)).commit();
+        Assertions.assertNull(UnitOfWork.current());
+        Assertions.assertEquals(0, pool.getActiveCount());
+    }
+
+    @Test
+    public void test_end_rollsBackOnFailure() throws SQLException {
+        UnitOfWork.begin(pool).getConnection();
+
+        UnitOfWork.end(false);
+
+        verify(created.get(0), atLeastOnce()).rollback();
+        verify(created.get(0), never()).commit();
+    }
+
+    @Test
+    public void test_end_withoutDatabaseAccessDoesNotAcquireConnection() throws SQLException {
+        UnitOfWork uow = UnitOfWork.begin(pool);
+
+        UnitOfWork.end(true);
+
+        Assertions.assertFalse(uow.hasConnection());
+        Assertions.assertEquals(0, created.size());
+    }
+}
@@ -0,0 +1,45 @@
+package com.revature.utility;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class VirtualThreadPoolTest {
+
+    @Test
+    public void test_execute_runsTask() throws Exception {
+        Assumptions.assumeTrue(VirtualThreadPool.isSupported());
+        VirtualThreadPool pool = new VirtualThreadPool();
+        pool.start();
+
+        CountDownLatch ran = new CountDownLatch(1);
+        pool.execute(ran::countDown);
+
+        Assertions.assertTrue(ran.await(5, TimeUnit.SECONDS));
+        pool.stop();
+    }
+
+    @Test
+    public void test_join_returnsOnceStopped() throws Exception {
+        Assumptions.assumeTrue(VirtualThreadPool.isSupported());
+        VirtualThreadPool pool = new VirtualThreadPool();
+        pool.start();
+
+        CompletableFuture<Void> joined = CompletableFuture.runAsync(() -> {
+            try {
+                pool.join();
+            } catch (InterruptedException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(50);
+        Assertions.assertFalse(joined.isDone());
+
+        pool.stop();
+        joined.get(5, TimeUnit.SECONDS);
+    }
+}